@@ -0,0 +1,403 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static lingolava.Nexus.*;
+import static lingolava.Nexus.DataNote.*;
+
+/*
+Kompaktes binäres (getaggtes) Format für DataNotes, z.B. für Cache-Dateien
+und die Übergabe zwischen Prozessen:
+
+* Java-Serialisierung einer DataNote schreibt jeden Integer-Code-Punkt des
+  Textes und jeden Table-Eintrag als Objekt (langsam und groß), die
+  textuellen Formate (JSON/JEXIS/CSV) müssen beim Lesen neu geparst werden
+* BinaryProcessor schreibt pro Datum ein Tag-Byte (alle neun DataTypes inkl.
+  Char, Label und Option), Längen/Anzahlen/Code-Punkte als Varints und
+  Texte als UTF-8; gleiche Strings/Labels/Numbers (Keys wie Werte) werden nur
+  beim ersten Auftreten geschrieben und danach per Dictionary-Index referenziert
+* optional (Hashes) wird pro komplexem Datum der Hash mitgeschrieben und beim
+  Lesen gegen den Hash der gelesenen Note geprüft (Integritätsprüfung)
+* Aufbau: Kennung "NXB", Version, Flags, Länge des Rumpfes (Varint), Rumpf;
+  read(InputStream) liest genau ein Datum (weitere können folgen),
+  read(ByteBuffer) dekodiert direkt aus dem Puffer (z.B. per FileChannel.map)
+  ohne Zwischenkopie und setzt die Position hinter das Datum
+* Round-Trips sind equals-exakt (inkl. Zahl-Texten wie 1.50, -0 oder 0X1FP-3)
+
+Beispiel:
+    BinaryProcessor BP = new BinaryProcessor();
+    try (OutputStream Out = Files.newOutputStream(Path.of("Cache.nxb"))) { BP.write(Note, Out); }
+    DataNote Copy = BP.read(ByteBuffer.wrap(Files.readAllBytes(Path.of("Cache.nxb"))));
+*/
+public final class BinaryProcessor
+{
+    static private final byte[] Magic = {'N', 'X', 'B'};
+    static private final int Version = 1;
+    static private final int HashFlag = 1;
+    static private final int[] MinCodes = {0, 0x80, 0x800, 0x10000};    // kleinster Code pro Folgebyte-Anzahl
+    static private final int
+        VoidTag = 0, FalseTag = 1, TrueTag = 2, CharTag = 3,
+        LabelTag = 4, NumberTag = 5, StringTag = 6,
+        ArrayTag = 7, OptionTag = 8, TableTag = 9, RefTag = 10;
+    static private final JSONProcessor NumbProc = new JSONProcessor(true);   // Zahl-Texte (XtraNumb)
+
+    private final boolean Hashes;
+
+    public BinaryProcessor()
+    { this(false); }
+    public BinaryProcessor(boolean Hashes)
+    { this.Hashes = Hashes; }
+
+    // ### Schreiben ###
+
+    /** Schreibt ein Datum (der Stream wird nicht geschlossen) */
+    public void write(DataNote Note, OutputStream Out) throws IOException
+    { Out.write(this.present(Note)); }
+
+    /** Datum als Byte-Array */
+    public byte[] present(DataNote Note)
+    {
+        if (Note != null)
+        {
+            Sink Body = new Sink();
+            new Encoder(Body, this.Hashes).unit(Note);
+            Sink Head = new Sink();
+            for (byte B : Magic) Head.put(B);
+            Head.put(Version); Head.put(this.Hashes ? HashFlag : 0);
+            Head.varint(Body.Size);
+            byte[] Bytes = Arrays.copyOf(Head.Bytes, Head.Size+Body.Size);
+            System.arraycopy(Body.Bytes, 0, Bytes, Head.Size, Body.Size);
+            return Bytes;
+        }
+        else throw new NullPointerException("Nulled data");
+    }
+
+    // ### Lesen ###
+
+    /** Liest genau ein Datum aus dem Stream (der Stream wird nicht geschlossen) */
+    public DataNote read(InputStream In) throws IOException
+    {
+        byte[] Head = In.readNBytes(Magic.length+2);
+        long Length = 0;
+        for (int Shift = 0; ; Shift += 7)
+        {
+            int B = In.read();
+            if (B < 0 || Shift > 28) throw new StreamCorruptedException("Truncated or invalid length");
+            Length |= (long)(B & 0x7F) << Shift;
+            if (B < 0x80) break;
+        }
+        if (Length > Integer.MAX_VALUE) throw new StreamCorruptedException("Invalid length "+Length);
+        byte[] Body = In.readNBytes((int)Length);
+        if (Body.length < Length) throw new StreamCorruptedException("Truncated data");
+        return this.decode(ByteBuffer.wrap(Head), ByteBuffer.wrap(Body));
+    }
+
+    /** Liest ein Datum ab der Position des Puffers (danach hinter dem Datum) */
+    public DataNote read(ByteBuffer Buffer) throws IOException
+    {
+        ByteBuffer In = Buffer.duplicate();
+        DataNote Note;
+        try
+        {
+            ByteBuffer Head = In.slice(In.position(), Magic.length+2);
+            In.position(In.position()+Magic.length+2);
+            int Length = (int)varint(In, 5);
+            ByteBuffer Body = In.slice(In.position(), Length);
+            Note = this.decode(Head, Body);
+            In.position(In.position()+Length);
+        }
+        catch (IndexOutOfBoundsException | IllegalArgumentException | BufferUnderflowException Exce)
+        { throw new StreamCorruptedException("Truncated data"); }
+        Buffer.position(In.position());
+        return Note;
+    }
+
+    /** Datum aus einem Byte-Array */
+    public DataNote parse(byte[] Bytes) throws IOException
+    { return this.read(ByteBuffer.wrap(Bytes)); }
+
+    private DataNote decode(ByteBuffer Head, ByteBuffer Body) throws IOException
+    {
+        for (byte B : Magic)
+            if (!Head.hasRemaining() || Head.get() != B) throw new StreamCorruptedException("Invalid header");
+        if (Head.remaining() < 2 || Head.get() != Version) throw new StreamCorruptedException("Unsupported version");
+        boolean Hashy = (Head.get() & HashFlag) != 0;
+        try
+        {
+            DataNote Note = new Decoder(Body, Hashy).unit();
+            if (!Body.hasRemaining()) return Note;
+            else throw new StreamCorruptedException("Trailing data");
+        }
+        catch (BufferUnderflowException Exce)
+        { throw new StreamCorruptedException("Truncated data"); }
+    }
+
+    // Varint (LEB128, höchstens Bytes lang)
+    static private long varint(ByteBuffer In, int Bytes) throws StreamCorruptedException
+    {
+        long Value = 0;
+        for (int X = 0; X < Bytes; X++)
+        {
+            int B = In.get();
+            Value |= (long)(B & 0x7F) << 7*X;
+            if ((B & 0x80) == 0) return Value;
+        }
+        throw new StreamCorruptedException("Invalid varint");
+    }
+
+    // ### Kodierung ###
+
+    // Wachsender Byte-Puffer
+    static private final class Sink
+    {
+        private byte[] Bytes = new byte[256];
+        private int Size = 0;
+
+        void put(int B)
+        {
+            if (this.Size == this.Bytes.length) this.Bytes = Arrays.copyOf(this.Bytes, 2*this.Size);
+            this.Bytes[this.Size++] = (byte)B;
+        }
+
+        void varint(long Value)
+        {
+            while ((Value & ~0x7FL) != 0) { this.put((int)(Value & 0x7F) | 0x80); Value >>>= 7; }
+            this.put((int)Value);
+        }
+
+        void int32(int Value)
+        { for (int Shift = 24; Shift >= 0; Shift -= 8) this.put(Value >>> Shift); }
+
+        // Code-Punkte als UTF-8 (Länge in Bytes vorab)
+        void text(List<Integer> Codes)
+        {
+            int Length = 0;
+            for (int C : Codes) Length += (C < 0x80) ? 1 : (C < 0x800) ? 2 : (C < 0x10000) ? 3 : 4;
+            this.varint(Length);
+            for (int C : Codes)
+                if (C < 0x80) this.put(C);
+                else if (C < 0x800)
+                { this.put(0xC0 | C >>> 6); this.put(0x80 | C & 0x3F); }
+                else if (C < 0x10000)
+                { this.put(0xE0 | C >>> 12); this.put(0x80 | C >>> 6 & 0x3F); this.put(0x80 | C & 0x3F); }
+                else
+                {
+                    this.put(0xF0 | C >>> 18); this.put(0x80 | C >>> 12 & 0x3F);
+                    this.put(0x80 | C >>> 6 & 0x3F); this.put(0x80 | C & 0x3F);
+                }
+        }
+    }
+
+    static private final class Encoder
+    {
+        private final Sink Out;
+        private final boolean Hashes;
+        private final Map<DataNote, Integer> Dict = new HashMap<>();    // bereits geschriebene Texte
+
+        Encoder(Sink Out, boolean Hashes)
+        { this.Out = Out; this.Hashes = Hashes; }
+
+        void unit(DataNote Note)
+        {
+            DataType Type = Note.retType();
+            switch (Type)
+            {
+                case Void -> this.Out.put(VoidTag);
+                case Boole -> this.Out.put(Note.asBoole() ? TrueTag : FalseTag);
+                case Char -> { this.Out.put(CharTag); this.Out.varint(Note.asCode()); }
+                case Label, Number, String ->
+                {
+                    Integer Ref = this.Dict.putIfAbsent(Note, this.Dict.size());
+                    if (Ref != null) { this.Out.put(RefTag); this.Out.varint(Ref); }
+                    else
+                    {
+                        this.Out.put((Type == DataType.Label) ? LabelTag : (Type == DataType.Number) ? NumberTag : StringTag);
+                        this.Out.text(Note.asMemo());
+                    }
+                }
+                case Array ->
+                {
+                    List<DataNote> Items = Note.asList(Function.identity());
+                    this.Out.put(ArrayTag); this.Out.varint(Items.size());
+                    for (DataNote Item : Items) this.unit(Item);
+                }
+                case Option ->
+                {
+                    Set<DataNote> Items = Note.asSet(Function.identity());
+                    this.Out.put(OptionTag); this.Out.varint(Items.size());
+                    for (DataNote Item : Items) this.unit(Item);
+                }
+                case Table ->
+                {
+                    Map<DataNote, DataNote> Items = Note.asMap(Function.identity(), Function.identity());
+                    this.Out.put(TableTag); this.Out.varint(Items.size());
+                    for (Map.Entry<DataNote, DataNote> Item : Items.entrySet())
+                    { this.unit(Item.getKey()); this.unit(Item.getValue()); }
+                }
+            }
+            if (this.Hashes && Note.isComplex()) this.Out.int32(Note.hashCode());
+        }
+    }
+
+    // ### Dekodierung ###
+
+    static private final class Decoder
+    {
+        private final ByteBuffer In;
+        private final boolean Hashes;
+        private final List<DataNote> Dict = new ArrayList<>();
+        private final StringBuilder Text = new StringBuilder();
+
+        Decoder(ByteBuffer In, boolean Hashes)
+        { this.In = In; this.Hashes = Hashes; }
+
+        DataNote unit() throws IOException
+        {
+            int Tag = this.In.get();
+            DataNote Note = switch (Tag)
+            {
+                case VoidTag -> new DataNote();
+                case FalseTag -> new DataNote(false);
+                case TrueTag -> new DataNote(true);
+                case CharTag -> character(this.count());
+                case LabelTag, NumberTag, StringTag ->
+                {
+                    String T = this.text();
+                    DataNote Nt = (Tag == LabelTag) ? label(T) : (Tag == NumberTag) ? number(T) : new DataNote(T);
+                    this.Dict.add(Nt);
+                    yield Nt;
+                }
+                case RefTag ->
+                {
+                    int Ref = this.count();
+                    if (Ref < this.Dict.size()) yield this.Dict.get(Ref);
+                    else throw new StreamCorruptedException("Invalid reference "+Ref);
+                }
+                case ArrayTag ->
+                {
+                    int N = this.count();
+                    List<DataNote> Items = new ArrayList<>(Math.min(N, this.In.remaining()));
+                    for (int X = 0; X < N; X++) Items.add(this.unit());
+                    yield new DataNote(Items);
+                }
+                case OptionTag ->
+                {
+                    int N = this.count();
+                    Set<DataNote> Items = new LinkedHashSet<>();
+                    for (int X = 0; X < N; X++)
+                        if (!Items.add(this.unit())) throw new StreamCorruptedException("Duplicate option item");
+                    yield new DataNote(Items);
+                }
+                case TableTag ->
+                {
+                    int N = this.count();
+                    Map<DataNote, DataNote> Items = new LinkedHashMap<>();
+                    for (int X = 0; X < N; X++)
+                        if (Items.putIfAbsent(this.unit(), this.unit()) != null)
+                            throw new StreamCorruptedException("Duplicate table key");
+                    yield new DataNote(Items);
+                }
+                default -> throw new StreamCorruptedException("Invalid tag "+Tag);
+            };
+            if (this.Hashes && Note.isComplex() && this.In.getInt() != Note.hashCode())
+                throw new StreamCorruptedException("Hash mismatch");
+            return Note;
+        }
+
+        // Anzahl/Index/Code-Punkt (nicht-negativer int)
+        private int count() throws StreamCorruptedException
+        {
+            long Value = varint(this.In, 5);
+            if (Value <= Integer.MAX_VALUE) return (int)Value;
+            else throw new StreamCorruptedException("Invalid count "+Value);
+        }
+
+        // UTF-8-Text direkt aus dem Puffer (strikt: keine überlangen Formen, Surrogate
+        // oder Folgebytes außerhalb 10xxxxxx, wie der Encoder sie nie schreibt)
+        private String text() throws StreamCorruptedException
+        {
+            int Length = this.count();
+            if (Length > this.In.remaining()) throw new BufferUnderflowException();
+            StringBuilder SB = this.Text;
+            SB.setLength(0);
+            int End = this.In.position()+Length;
+            while (this.In.position() < End)
+            {
+                int B = this.In.get() & 0xFF;
+                int More = (B < 0x80) ? 0 : (B >= 0xF8) ? -1 : (B >= 0xF0) ? 3 : (B >= 0xE0) ? 2 : (B >= 0xC0) ? 1 : -1;
+                if (More < 0 || this.In.position()+More > End) throw new StreamCorruptedException("Invalid UTF-8");
+                int C = (More == 0) ? B : B & (0x3F >>> More);
+                for (int X = 0; X < More; X++)
+                {
+                    int F = this.In.get() & 0xFF;
+                    if ((F & 0xC0) != 0x80) throw new StreamCorruptedException("Invalid UTF-8 continuation");
+                    C = C << 6 | F & 0x3F;
+                }
+                if (C < MinCodes[More]) throw new StreamCorruptedException("Overlong UTF-8");
+                if (C > Character.MAX_CODE_POINT || C >= Character.MIN_SURROGATE && C <= Character.MAX_SURROGATE)
+                    throw new StreamCorruptedException("Invalid UTF-8 code point "+C);
+                SB.appendCodePoint(C);
+            }
+            return SB.toString();
+        }
+    }
+
+    // ### Simplexe über die öffentlichen Konstruktoren ###
+
+    static private DataNote character(int Code) throws StreamCorruptedException
+    {
+        try
+        {
+            if (Character.isBmpCodePoint(Code)) return new DataNote((char)Code);
+            else return new DataNote(Character.highSurrogate(Code), Character.lowSurrogate(Code));
+        }
+        catch (IllegalArgumentException Exce) { throw new StreamCorruptedException("Invalid char "+Code); }
+    }
+
+    static private DataNote label(String Text) throws StreamCorruptedException
+    {
+        try { return new DataNote(Text, true); }
+        catch (RuntimeException Exce) { throw new StreamCorruptedException("Invalid label "+Text); }
+    }
+
+    // Number mit exakt gleichem Text (BigDecimal, JSON-Xtra-Normalisierung oder double)
+    static private DataNote number(String Text) throws StreamCorruptedException
+    {
+        DataNote Note = null;
+        try
+        {
+            BigDecimal Value = new BigDecimal(Text);
+            if (Value.toString().replace("+", "").equals(Text)) Note = new DataNote(Value);
+        }
+        catch (NumberFormatException Exce) {}
+        if (Note == null)
+            try
+            {
+                Note = NumbProc.parse(Text);
+                if (Note.retType() != DataType.Number || !Note.asString().equals(Text)) Note = null;
+            }
+            catch (RuntimeException Exce) {}
+        if (Note == null)
+            try
+            {
+                double Value = Double.parseDouble(Text);
+                if (Double.toString(Value).equals(Text)) Note = new DataNote(Value);
+            }
+            catch (NumberFormatException Exce) {}
+        if (Note != null) return Note;
+        else throw new StreamCorruptedException("Invalid number "+Text);
+    }
+}
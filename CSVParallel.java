@@ -0,0 +1,176 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
+import java.util.function.LongFunction;
+
+import static lingolava.Nexus.*;
+
+/*
+Paralleles Parsing großer CSV-Daten auf mehreren Kernen:
+
+* CSVProcessor.parse arbeitet strikt sequentiell (ein Kern)
+* CSVParallel sucht die Zeilengrenzen in einem schnellen sequentiellen
+  Durchlauf (quote-bewusst wie CSVReader, d.h. inkl. StriMark/EscpMark)
+  und parst Blöcke von Zeilen parallel auf einem ForkJoinPool, während
+  die Suche weiterläuft; die Blöcke werden in Originalreihenfolge zur
+  gleichen 2D-DataNote wie bei CSVProcessor.parse zusammengesetzt
+* Header und Trans wie bei CSVProcessor.parse; Trans wird dabei parallel
+  aufgerufen (muss also thread-sicher und ohne Seiteneffekte sein)
+* zweistufig wie CSVProcessor.parse: erst werden alle Blöcke geparst, dann
+  transformiert, d.h. ein Syntaxfehler geht jeder Exception der Trans vor
+  und Trans wird bei Syntaxfehlern nicht aufgerufen
+* Syntaxfehler: der Text bis zum Ende des ersten fehlerhaften Blocks wird
+  ohne Trans geparst, damit dieselbe ProcessorException mit globalem Index
+  gemeldet wird (gelingt das wider Erwarten: IllegalStateException);
+  Exceptions der Trans werden unverändert weitergegeben
+
+Beispiel:
+    DataNote DN = CSVParallel.parse(new CSVProcessor(), Path.of("Surnames.txt"), null, Processor.IdentTrans, 8);
+*/
+public final class CSVParallel
+{
+    static private final int ChunkLines = 1 << 12;  // Zeilen pro paralleler Aufgabe
+
+    private CSVParallel() {}
+
+    public static DataNote parse(CSVProcessor Proc, CharSequence Chars, int Parallelism)
+    { return parse(Proc, Chars, null, Processor.IdentTrans, Parallelism); }
+    public static DataNote parse(CSVProcessor Proc, CharSequence Chars, CharSequence Header, int Parallelism)
+    { return parse(Proc, Chars, Header, Processor.IdentTrans, Parallelism); }
+    public static DataNote parse
+    (CSVProcessor Proc, CharSequence Chars, CharSequence Header,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans, int Parallelism)
+    {
+        if (Parallelism > 1)
+            return parse(Proc, new StringReader(Chars.toString()), Header, Trans, Parallelism,
+                         Codes -> Chars.subSequence(0, Character.offsetByCodePoints(Chars, 0, (int) Codes)));
+        else return sequential(Proc, Chars, Header, Trans);
+    }
+
+    /** Parst eine UTF-8-Datei (Zeilensuche über das Datei-Mapping, ohne kompletten String) */
+    public static DataNote parse
+    (CSVProcessor Proc, Path File, CharSequence Header,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans, int Parallelism) throws IOException
+    {
+        if (Parallelism > 1)
+            try (Reader Input = NexusFiles.reader(File))
+            { return parse(Proc, Input, Header, Trans, Parallelism, Codes -> prefix(File, Codes)); }
+        else if (Header != null) return NexusFiles.parse(Proc, File, Header, Trans);
+        else return NexusFiles.parse(Proc, File, Trans);
+    }
+
+    static private DataNote sequential
+    (CSVProcessor Proc, CharSequence Chars, CharSequence Header,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans)
+    { return (Header != null) ? Proc.parse(Chars, Header, Trans) : Proc.parse(Chars, Trans); }
+
+    // Ergebnis einer Block-Aufgabe (Exceptions ungewrappt wie im aufrufenden Thread)
+    private record Part<T>(T Value, RuntimeException Error)
+    {}
+
+    // Zeilensuche sequentiell, Parsing blockweise parallel, danach Trans blockweise parallel;
+    // Prefix liefert den Eingabetext bis zu einem Code-Punkt-Index (nur im Fehlerfall)
+    static private DataNote parse
+    (CSVProcessor Proc, Reader Input, CharSequence Header,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans, int Parallelism,
+     LongFunction<CharSequence> Prefix)
+    {
+        ForkJoinPool Pool = new ForkJoinPool(Parallelism);
+        try
+        {
+            CSVReader Rows = new CSVReader(Proc, Input, Header, Trans);
+            List<List<String>> Chunks = new ArrayList<>();
+            List<ForkJoinTask<Part<List<List<DataNote>>>>> Parsed = new ArrayList<>();
+            List<Long> Ends = new ArrayList<>();        // Code-Punkt-Index nach jedem Block
+            List<String> Texts = new ArrayList<>(ChunkLines);
+            String Text;
+            while ((Text = Rows.nextText()) != null)
+            {
+                Texts.add(Text);
+                if (Texts.size() == ChunkLines)
+                {
+                    Chunks.add(Texts); Ends.add(Rows.index());
+                    Parsed.add(Pool.submit(fields(Rows, Texts)));
+                    Texts = new ArrayList<>(ChunkLines);
+                }
+            }
+            if (!Texts.isEmpty())
+            { Chunks.add(Texts); Ends.add(Rows.index()); Parsed.add(Pool.submit(fields(Rows, Texts))); }
+
+            List<ForkJoinTask<Part<List<DataNote>>>> Transed = new ArrayList<>(Parsed.size());
+            for (int X = 0; X < Parsed.size(); X++)
+            {
+                Part<List<List<DataNote>>> Fields = Parsed.get(X).join();
+                if (Fields.Error() != null)
+                    throw failure(Proc, Prefix.apply(Ends.get(X)), Header, Fields.Error());
+                Transed.add(ForkJoinTask.adapt(lines(Rows, Chunks.get(X), Fields.Value())));
+            }
+            Transed.forEach(Pool::execute);
+
+            List<DataNote> Lines = new ArrayList<>();
+            for (ForkJoinTask<Part<List<DataNote>>> Task : Transed)
+            {
+                Part<List<DataNote>> Block = Task.join();
+                if (Block.Error() != null) throw Block.Error();
+                Lines.addAll(Block.Value());
+            }
+            return Rows.data(Lines);
+        }
+        finally { Pool.shutdownNow(); }
+    }
+
+    // Aufgabe für einen Block von Zeilen: nur Parsing (Felder ohne Trans)
+    static private ForkJoinTask<Part<List<List<DataNote>>>> fields(CSVReader Rows, List<String> Texts)
+    {
+        return ForkJoinTask.adapt(() ->
+        {
+            try { return new Part<>(Rows.fields(Texts), null); }
+            catch (RuntimeException Exce) { return new Part<>(null, Exce); }
+        });
+    }
+
+    // Aufgabe für einen geparsten Block: Transformation der Felder und Zeilen
+    static private Callable<Part<List<DataNote>>> lines(CSVReader Rows, List<String> Texts, List<List<DataNote>> Fields)
+    {
+        return () ->
+        {
+            try
+            {
+                List<DataNote> Lines = new ArrayList<>(Texts.size());
+                for (int X = 0; X < Texts.size(); X++) Lines.add(Rows.line(Texts.get(X), Fields.get(X)));
+                return new Part<>(Lines, null);
+            }
+            catch (RuntimeException Exce) { return new Part<>(null, Exce); }
+        };
+    }
+
+    // Exception des CSVProcessors für den ersten fehlerhaften Block (Fehler liegt im Präfix bis Blockende)
+    static RuntimeException failure
+    (CSVProcessor Proc, CharSequence Prefix, CharSequence Header, RuntimeException Cause)
+    {
+        try { sequential(Proc, Prefix, Header, Processor.IdentTrans); }
+        catch (RuntimeException Exce) { return Exce; }
+        return new IllegalStateException("Chunk failed but sequential parse succeeded", Cause);
+    }
+
+    // Text einer Datei bis zum Code-Punkt-Index Codes
+    static CharSequence prefix(Path File, long Codes)
+    {
+        try (CodeReader Input = new CodeReader(NexusFiles.reader(File)))
+        {
+            StringBuilder SB = new StringBuilder();
+            int Code;
+            while (Input.index() < Codes && (Code = Input.read()) != CodeReader.EndCode) SB.appendCodePoint(Code);
+            return SB;
+        }
+        catch (IOException Exce) { throw new UncheckedIOException(Exce); }
+    }
+}
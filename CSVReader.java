@@ -0,0 +1,291 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static lingolava.Nexus.*;
+
+/*
+Zeilenweises (streamendes) Lesen von CSV-Daten mit einem CSVProcessor:
+
+* CSVProcessor.parse benötigt den kompletten CSV-Text und erzeugt daraus
+  eine 2D-DataNote (alle Zeilen gleichzeitig im Speicher)
+* CSVReader liest dagegen aus einem Reader bzw. einer Datei und liefert
+  jede CSV-Zeile einzeln als DataNote (Array bzw. Table mit Header), d.h.
+  der Speicherbedarf hängt nur von der längsten Zeile ab, nicht von der Datei
+* Zeilengrenzen werden quote-bewusst erkannt (CR/LF in quotierten Feldern
+  gehören zum Feld, auch über Puffergrenzen des Readers hinweg)
+* jede Zeile wird vom CSVProcessor selbst geparst (gleiche Marks, Escapes,
+  Whitespace und Xtra-Einstellungen); Trans und Header wie bei
+  CSVProcessor.parse(Chars, Header, Trans): Felder/Keys/Zeilen werden
+  transformiert, eine umgebende 2D-Note existiert beim Streamen nicht
+* Header: null (kein Header, Array-Zeilen), "" (erste Zeile ist Header)
+  oder externe Header-Zeile (z.B. "Code,Char,Name")
+
+Beispiel:
+    try (Stream<DataNote> Rows = CSVReader.rows(new CSVProcessor(), Path.of("Surnames.txt"), UTF_8))
+    { long N = Rows.count(); }
+*/
+public final class CSVReader implements Iterator<DataNote>, Closeable
+{
+    static private final int EndCode = CodeReader.EndCode;
+    static private final DataNote NullText = new DataNote("null");  // Füllwert bei fehlenden Spalten
+
+    private final CSVProcessor Proc;
+    private final NexusMarks Marks;
+    private final CSVSplitter Split;
+    private final CodeReader Input;
+    private final BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans;
+
+    private boolean Done = false;       // true, wenn keine weitere Zeile folgt
+    private long[] Quotes = {0};        // Quotierungen der zuletzt gelesenen Zeile
+
+    private String HeadText = null;     // Header-Zeile (null wenn ohne Header)
+    private List<DataNote> Head = null; // untransformierte Header-Keys
+    private DataNote Line = null;       // vorgelesene (nächste) Zeile
+
+    // ### Konstruktoren/Fabriken ###
+
+    public CSVReader(CSVProcessor Proc, Reader Input)
+    { this(Proc, Input, null, Processor.IdentTrans); }
+    public CSVReader(CSVProcessor Proc, Reader Input, CharSequence Header)
+    { this(Proc, Input, Header, Processor.IdentTrans); }
+    public CSVReader
+    (CSVProcessor Proc, Reader Input, BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans)
+    { this(Proc, Input, null, Trans); }
+    public CSVReader
+    (CSVProcessor Proc, Reader Input, CharSequence Header,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans)
+    {
+        if (Proc != null && Input != null && Trans != null)
+        {
+            this.Proc = Proc; this.Input = new CodeReader(Input); this.Trans = Trans;
+            this.Marks = new NexusMarks(Proc);
+            this.Split = new CSVSplitter(this.Marks);
+            if (Header != null)
+                if (Header.isEmpty())           // interner Header: erste Zeile
+                {                               // (bei leerer Eingabe ein leeres Feld)
+                    this.HeadText = this.nextText();
+                    this.Head = this.fields(this.HeadText);
+                }
+                else                            // externer Header: genau eine Zeile
+                {
+                    DataNote HD = Proc.parse(Header);
+                    if (HD.extent() != 1) Proc.parse("", Header);  // Exception wie CSVProcessor
+                    this.HeadText = Header.toString();
+                    this.Head = HD.at(0).asList(Function.identity());
+                }
+        }
+        else throw new NullPointerException("Processor, input, or transformation null");
+    }
+
+    public static Stream<DataNote> rows(CSVProcessor Proc, Reader Input)
+    { return stream(new CSVReader(Proc, Input)); }
+    public static Stream<DataNote> rows(CSVProcessor Proc, Reader Input, CharSequence Header)
+    { return stream(new CSVReader(Proc, Input, Header)); }
+    public static Stream<DataNote> rows
+    (CSVProcessor Proc, Reader Input, BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans)
+    { return stream(new CSVReader(Proc, Input, Trans)); }
+    public static Stream<DataNote> rows
+    (CSVProcessor Proc, Reader Input, CharSequence Header,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans)
+    { return stream(new CSVReader(Proc, Input, Header, Trans)); }
+
+    public static Stream<DataNote> rows(CSVProcessor Proc, Path File) throws IOException
+    { return rows(Proc, File, StandardCharsets.UTF_8, null, Processor.IdentTrans); }
+    public static Stream<DataNote> rows(CSVProcessor Proc, Path File, Charset Code) throws IOException
+    { return rows(Proc, File, Code, null, Processor.IdentTrans); }
+    public static Stream<DataNote> rows
+    (CSVProcessor Proc, Path File, Charset Code, CharSequence Header) throws IOException
+    { return rows(Proc, File, Code, Header, Processor.IdentTrans); }
+    public static Stream<DataNote> rows
+    (CSVProcessor Proc, Path File, Charset Code, CharSequence Header,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans) throws IOException
+    {
+        Reader Input = Code.equals(StandardCharsets.UTF_8)    // UTF-8 per Mapping ohne Datei-Kopie
+                       ? NexusFiles.reader(File) : Files.newBufferedReader(File, Code);
+        try { return rows(Proc, Input, Header, Trans); }
+        catch (RuntimeException Exce) { Input.close(); throw Exce; }
+    }
+
+    // Stream über alle Zeilen (schließt den Reader bei Stream.close)
+    static Stream<DataNote> stream(CSVReader Rows)
+    {
+        int Flags = Spliterator.ORDERED | Spliterator.NONNULL;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(Rows, Flags), false)
+                            .onClose(Rows::close);
+    }
+
+    // ### Iteration ###
+
+    @Override
+    public boolean hasNext()
+    {
+        if (this.Line == null && !this.Done)
+            this.Line = this.line(this.nextText());
+        return this.Line != null;
+    }
+
+    @Override
+    public DataNote next()
+    {
+        if (this.hasNext())
+        { DataNote Note = this.Line; this.Line = null; return Note; }
+        else throw new NoSuchElementException();
+    }
+
+    @Override
+    public void close()
+    { this.Input.close(); }
+
+    // ### Zeilen ###
+
+    // Liest den Text der nächsten CSV-Zeile ohne Terminatoren (null wenn keine mehr)
+    String nextText()
+    {
+        if (!this.Done)
+        {
+            StringBuilder SB = new StringBuilder();
+            int Code;
+            while ((Code = this.Input.read()) != EndCode && !this.Split.feed(Code))
+                SB.appendCodePoint(Code);
+            if (this.Split.tracks()) this.Quotes = this.Split.quotes();
+            this.Split.reset();
+            if (Code != EndCode)            // verschiedene Terminatoren zusammenfassen
+            {                               // (z.B. CRLF/LFCR, aber CRCR = 2 Zeilen)
+                Set<Integer> Termz = new HashSet<>(Set.of(Code));
+                while (this.Marks.isTerm(this.Input.peek()) && Termz.add(this.Input.peek())) this.Input.read();
+            }
+            this.Done = (this.Input.peek() == EndCode);   // letzter Terminator optional
+            return SB.toString();
+        }
+        else return null;
+    }
+
+    // Merkt ab der nächsten Zeile, welche Felder quotiert sind (für 'quotes')
+    void trackQuotes()
+    { this.Split.track(true); }
+
+    // Quotierungs-Bitmaske der zuletzt per 'nextText' gelesenen Zeile (64 Felder pro Wort;
+    // ohne 'trackQuotes' stets ohne quotierte Felder)
+    long[] quotes()
+    { return this.Quotes; }
+
+    // Code-Punkt-Index der Eingabe nach der zuletzt per 'nextText' gelesenen Zeile
+    long index()
+    { return this.Input.index(); }
+
+    // Untransformierte Header-Keys (null wenn ohne Header)
+    List<DataNote> head()
+    { return this.Head; }
+
+    // Parst eine Zeile per CSVProcessor zu untransformierten Feldern
+    List<DataNote> fields(String Text)
+    { return (Text != null) ? this.Proc.parse(Text).at(0).asList(Function.identity()) : null; }
+
+    // Feldtexte einer Zeile: einfache Zeilen (druckbares ASCII ohne Quotes, Escapes
+    // und Whitespace-Marks) direkt am Separator geteilt, sonst per CSVProcessor
+    List<String> texts(String Text)
+    {
+        if (Text != null)
+        {
+            NexusMarks Marks = this.Marks;
+            boolean Plain = Marks.SeprMark >= 0x20 && Marks.SeprMark < 0x7F;
+            for (int X = 0; Plain && X < Text.length(); X++)
+            {
+                char C = Text.charAt(X);
+                Plain = C >= 0x20 && C < 0x7F && C != Marks.StriMark && C != Marks.EscpMark &&
+                        (C == Marks.SeprMark || !Marks.isWhisp(C));
+            }
+            if (Plain)
+            {
+                List<String> Texts = new ArrayList<>();
+                int X = 0, Y;
+                while ((Y = Text.indexOf(Marks.SeprMark, X)) >= 0) { Texts.add(Text.substring(X, Y)); X = Y+1; }
+                Texts.add(Text.substring(X));
+                return Texts;
+            }
+            else return this.fields(Text).stream().map(DataNote::asString).toList();
+        }
+        else return null;
+    }
+
+    // Parst mehrere Zeilen in einem Aufruf (verbunden per Terminatoren, sonst einzeln)
+    List<List<DataNote>> fields(List<String> Texts)
+    {
+        String Term = this.Marks.termText();
+        String Text = String.join(Term, Texts);
+        if (Texts.size() > 1 && Texts.get(Texts.size()-1).isEmpty())
+            Text += Term;                   // leere letzte Zeile (letzter Terminator optional)
+        DataNote Data = this.Proc.parse(Text);
+        if (Data.extent() == Texts.size())
+            return Data.asList(Ln -> Ln.asList(Function.identity()));
+        else
+        {
+            List<List<DataNote>> Lines = new ArrayList<>(Texts.size());
+            for (String T : Texts) Lines.add(this.fields(T));
+            return Lines;
+        }
+    }
+
+    // Erzeugt die transformierte Zeilen-Note (Array oder Table) analog CSVProcessor.parse
+    DataNote line(String Text)
+    { return (Text != null) ? this.line(Text, this.fields(Text)) : null; }
+    DataNote line(String Text, List<DataNote> Fields)
+    {
+        DataNote Note;
+        if (this.Head != null)
+        {
+            Map<DataNote, DataNote> Tabl = new LinkedHashMap<>();
+            int M = Fields.size(), N = this.Head.size();
+            for (int X = 0; X < N; X++)         // Keys bestimmen die Zeilenlänge
+            {
+                DataNote
+                    Ky = this.trans(this.Head.get(X), true),
+                    Vl = this.trans((X < M) ? Fields.get(X) : NullText, false);
+                if (Tabl.putIfAbsent(Ky, Vl) != null)
+                {                               // Exception des CSVProcessors erzeugen
+                    this.Proc.parse(this.HeadText+this.Marks.termText()+Text, "", this.Trans);
+                    throw new IllegalStateException("Duplicate key "+Ky);
+                }
+            }
+            Note = Tabl.isEmpty() ? new DataNote(Collections.emptyMap()) : new DataNote(Tabl);
+        }
+        else
+        {
+            List<DataNote> Arry = new ArrayList<>(Fields.size());
+            for (DataNote Field : Fields) Arry.add(this.trans(Field, false));
+            Note = new DataNote(Arry);
+        }
+        return this.trans(Note, false);
+    }
+
+    // Erzeugt die transformierte 2D-Note aus (transformierten) Zeilen analog CSVProcessor.parse
+    DataNote data(List<DataNote> Lines)
+    { return this.trans(new DataNote(Lines), false); }
+
+    private DataNote trans(DataNote Note, boolean Tagy)
+    {
+        Note = this.Trans.apply(Note, Tagy);
+        if (Note != null) return Note;
+        else throw new NullPointerException("Data null by transformation");
+    }
+}
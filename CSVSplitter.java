@@ -0,0 +1,87 @@
+import java.util.Arrays;
+
+/*
+Zustandsautomat zum Auffinden von CSV-Zeilengrenzen (außerhalb von Quotes):
+
+* wird Code-Punkt für Code-Punkt gefüttert und meldet, ob ein Code ein
+  zeilenbeendender Terminator ist (also nicht Teil eines quotierten Feldes)
+* Quotes öffnen ein Feld nur am Feldanfang (ggf. nach Whitespace), danach
+  sind sie wie im CSVProcessor gewöhnliche Daten eines unquotierten Feldes
+* in Quotes werden Escapes (z.B. \") und verdoppelte Quotes ("") überlesen
+* merkt sich pro Zeile, welche Felder quotiert waren, nur nach 'track(true)'
+  (per CSVReader.trackQuotes für Typisierungen wie DataFrame und CSVTyping)
+*/
+final class CSVSplitter
+{
+    private final NexusMarks Marks;
+
+    private boolean
+        Start = true,       // true am Feldanfang (nach Separator/Zeilenanfang)
+        Quote = false,      // true innerhalb eines quotierten Feldes
+        Escp = false,       // true direkt nach Escape in Quotes
+        Close = false;      // true nach Quote in Quotes (Ende oder Verdopplung)
+    private int Field = 0;  // aktueller Feldindex der Zeile
+    private boolean Track = false;          // true: quotierte Felder merken
+    private long[] Quoted = new long[1];    // Bitmaske quotierter Felder (64 pro Wort)
+
+    CSVSplitter(NexusMarks Marks)
+    { this.Marks = Marks; }
+
+    // Verarbeitet den nächsten Code und liefert true bei Zeilenende
+    boolean feed(int Code)
+    {
+        if (this.Quote)
+        {
+            if (this.Escp) this.Escp = false;
+            else if (this.Close)
+            {
+                this.Close = false;
+                if (Code != this.Marks.StriMark)    // kein "" => Feld geschlossen
+                { this.Quote = false; return this.feed(Code); }
+            }
+            else if (Code == this.Marks.EscpMark) this.Escp = true;
+            else if (Code == this.Marks.StriMark) this.Close = true;
+            return false;
+        }
+        else if (this.Marks.isTerm(Code))
+            return true;            // Zustand bis 'reset' für 'quotes' erhalten
+        else
+        {
+            if (Code == this.Marks.SeprMark)
+            { this.Start = true; this.Field++; }
+            else if (this.Start && Code == this.Marks.StriMark)
+            {
+                this.Start = false; this.Quote = true;
+                if (!this.Track) return false;
+                int W = this.Field >>> 6;
+                if (W >= this.Quoted.length) this.Quoted = Arrays.copyOf(this.Quoted, Math.max(W+1, 2*this.Quoted.length));
+                this.Quoted[W] |= 1L << this.Field;
+            }
+            else if (!(this.Start && this.Marks.isWhisp(Code)))
+                this.Start = false;
+            return false;
+        }
+    }
+
+    // Schaltet das Merken quotierter Felder ein bzw. aus (ab der nächsten Zeile)
+    void track(boolean Track)
+    { this.Track = Track; }
+    boolean tracks()
+    { return this.Track; }
+
+    // Quotierungs-Bitmaske der aktuellen Zeile (vor Aufruf von 'reset')
+    long[] quotes()
+    { return this.Quoted.clone(); }
+
+    // true, wenn die Eingabe aktuell innerhalb eines Quotes steht
+    boolean inside()
+    { return this.Quote && !this.Close; }
+
+    // Setzt den Automaten für die nächste Zeile zurück
+    void reset()
+    {
+        this.Start = true; this.Quote = false;
+        this.Escp = false; this.Close = false;
+        this.Field = 0; Arrays.fill(this.Quoted, 0);
+    }
+}
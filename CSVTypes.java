@@ -0,0 +1,115 @@
+import static lingolava.Nexus.DataNote.*;
+
+/*
+Typisierung von (unquotierten) CSV-Feldtexten ohne Parsing per Processor:
+
+* ermittelt, ob ein Feldtext als JSON-Simplex Number/Boole/Void wäre (wie
+  JSONProcessor.parse des Textes, inkl. umgebendem Whitespace), sonst String
+* mit Xtra zusätzlich die XtraNumb-Formen des JSONProcessor(true):
+  [±]Infinity/[±]NaN, segmentierende Unterstriche (1_024) und
+  0b/0q/0o/0x-Präfixe (auch mit Bruch und binärem Exponenten P)
+* ohne Exceptions und ohne Allokation (Zustandsautomat über die Zeichen)
+*/
+final class CSVTypes
+{
+    private CSVTypes() {}
+
+    // Typ des Feldtextes: Number, Boole, Void oder String
+    static DataType classify(CharSequence Text, boolean Xtra)
+    {
+        int X = 0, Y = Text.length();
+        while (X < Y && isWhite(Text.charAt(X))) X++;
+        while (Y > X && isWhite(Text.charAt(Y-1))) Y--;
+        if (X == Y) return DataType.String;
+        else if (equals(Text, X, Y, "true") || equals(Text, X, Y, "false")) return DataType.Boole;
+        else if (equals(Text, X, Y, "null")) return DataType.Void;
+        else if (isNumber(Text, X, Y, Xtra)) return DataType.Number;
+        else return DataType.String;
+    }
+
+    static private boolean isWhite(char Code)
+    { return Code == ' ' || Code == '\t' || Code == '\r' || Code == '\n'; }
+
+    static private boolean equals(CharSequence Text, int X, int Y, String Word)
+    {
+        if (Y-X != Word.length()) return false;
+        for (int Z = 0; Z < Word.length(); Z++)
+            if (Text.charAt(X+Z) != Word.charAt(Z)) return false;
+        return true;
+    }
+
+    // Zahl wie vom JSONProcessor akzeptiert: [+-]?D+(.D+)?([eE][+-]?D+)? bzw. mit Xtra erweitert
+    static private boolean isNumber(CharSequence Text, int X, int Y, boolean Xtra)
+    {
+        char C = Text.charAt(X);
+        if (C == '-' || C == '+')
+            if (++X == Y) return false;
+        if (Xtra && (equals(Text, X, Y, "Infinity") || equals(Text, X, Y, "NaN"))) return true;
+        if (Xtra && Y-X > 2 && Text.charAt(X) == '0')
+        {
+            int Radix = switch (Text.charAt(X+1))
+            {
+                case 'b', 'B' -> 2;
+                case 'q', 'Q' -> 4;
+                case 'o', 'O' -> 8;
+                case 'x', 'X' -> 16;
+                default -> 0;
+            };
+            if (Radix > 0) return isRadixed(Text, X+2, Y, Radix);
+        }
+
+        int Z = digits(Text, X, Y, 10, Xtra);
+        if (Z == X) return false;
+        X = Z;
+        if (X < Y && Text.charAt(X) == '.')
+        {
+            Z = digits(Text, ++X, Y, 10, Xtra);
+            if (Z == X) return false;
+            X = Z;
+        }
+        if (X < Y && (Text.charAt(X) == 'e' || Text.charAt(X) == 'E'))
+        {
+            if (++X < Y && (Text.charAt(X) == '+' || Text.charAt(X) == '-')) X++;
+            Z = digits(Text, X, Y, 10, Xtra);
+            if (Z == X) return false;
+            X = Z;
+        }
+        return X == Y;
+    }
+
+    // Ziffern zur Basis 2/4/8/16 mit optionalem Bruch und binärem Exponenten P
+    static private boolean isRadixed(CharSequence Text, int X, int Y, int Radix)
+    {
+        int Z = digits(Text, X, Y, Radix, true);
+        if (Z == X) return false;
+        X = Z;
+        if (X < Y && Text.charAt(X) == '.')
+        {
+            Z = digits(Text, ++X, Y, Radix, true);
+            if (Z == X) return false;
+            X = Z;
+        }
+        if (X < Y && (Text.charAt(X) == 'p' || Text.charAt(X) == 'P'))
+        {
+            if (++X < Y && (Text.charAt(X) == '+' || Text.charAt(X) == '-')) X++;
+            Z = digits(Text, X, Y, Radix, true);        // Exponent-Ziffern zur gleichen Basis
+            if (Z == X) return false;
+            X = Z;
+        }
+        return X == Y;
+    }
+
+    // Ende einer Ziffernfolge ab X (mit Xtra auch Unterstriche nach der ersten Ziffer)
+    static private int digits(CharSequence Text, int X, int Y, int Radix, boolean Xtra)
+    {
+        int Z = X;
+        while (Z < Y)
+        {
+            char C = Text.charAt(Z);
+            if (Character.digit(C, Radix) >= 0 && C < 128) Z++;
+            else if (Xtra && C == '_' && Z > X) Z++;
+            else break;
+        }
+        return Z;
+    }
+}
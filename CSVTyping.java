@@ -0,0 +1,261 @@
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import static lingolava.Nexus.*;
+import static lingolava.Nexus.DataNote.*;
+
+/*
+Typisierung von CSV-Feldern als Number/Boole/Void ohne Exceptions:
+
+* die TypeTrans in Main parst jedes Feld per JSONProcessor.parse im
+  try/catch; jedes String-Feld kostet dabei String, Code-Punkt-Liste und
+  eine geworfene ProcessorException
+* CSVTyping klassifiziert Feldtexte per CSVTypes (Zustandsautomat, keine
+  Exception, keine Allokation): Boole/Void direkt als Note, Number direkt aus
+  dem Text (mit dem Zahl-Text des JSONProcessors, z.B. 1_024 => 1024,
+  0x1f => 0X1F) bzw. mit Normal als double (wie NormTrans in Jexis);
+  Strings bleiben unverändert (gleiche Note)
+* Types: zu typisierende DataTypes (Teilmenge von Number/Boole/Void),
+  Xtra: zusätzlich XtraNumb-Formen (Infinity/NaN, 1_024, 0x1F usw.)
+* als Trans (apply) gleiches Ergebnis wie die TypeTrans: alle simplexen
+  String-Notes (auch quotierte Felder und Keys), z.B. für CSVProcessor.parse,
+  CSVReader, CSVParallel oder NexusConverter
+* parse: nativer Modus auf Basis von CSVReader (quote-bewusst wie
+  CSVProcessor.parse): nur unquotierte Felder werden typisiert, Header-Keys
+  bleiben Strings; Header und Trans wie bei CSVProcessor.parse (Trans erhält
+  die typisierten Felder, erst nach dem Parsing aller Zeilen); Syntaxfehler
+  als Exception des CSVProcessors (per Parsing des Textes bis zum
+  fehlerhaften Block, ohne Trans), Exceptions der Trans unverändert
+
+Beispiel:
+    CSVTyping Typing = new CSVTyping(EnumSet.of(DataType.Number, DataType.Boole, DataType.Void), true, false);
+    DataNote DN1 = Typing.parse(new CSVProcessor(), "null,false,true\r\n12.34E56,Infinity,\"42\"", null);
+    DataNote DN2 = new CSVProcessor().parse("null,false,true\r\n12.34E56,Infinity,Hello World", Typing);
+*/
+public final class CSVTyping implements BiFunction<DataNote, Boolean, DataNote>
+{
+    static private final int ChunkLines = 1 << 8;       // Zeilen pro Parse-Aufruf
+    static private final Set<DataType> Typable = EnumSet.of(DataType.Number, DataType.Boole, DataType.Void);
+    static private final DataNote
+        VoidNote = new DataNote(),
+        TrueNote = new DataNote(true),
+        FalseNote = new DataNote(false),
+        NullText = new DataNote("null");            // Füllwert bei fehlenden Spalten
+
+    private final Set<DataType> Types;
+    private final boolean Xtra, Normal;
+    private final JSONProcessor Numbers;                // nur ohne Direct
+
+    // Number-Note mit vorgegebenem Zahl-Text: die LingoLibry bietet dafür keinen öffentlichen Weg
+    // (Processor.convert und der Text-Konstruktor für Numbers sind nicht zugänglich);
+    // DataNote(BigDecimal) übernimmt aber nur toString() als Text und behält den BigDecimal
+    // selbst nicht, d.h. der Wert 0 dieses Hilfsobjekts ist nirgends sichtbar. Diese Kopplung
+    // wird beim Laden geprüft (Direct); ohne sie werden Zahlen per JSONProcessor geparst
+    static private final class Numeral extends BigDecimal
+    {
+        static private final long serialVersionUID = 1L;
+        private final String Text;
+
+        Numeral(String Text)
+        { super(0); this.Text = Text; }
+
+        @Override
+        public String toString()
+        { return this.Text; }
+    }
+
+    static private final boolean Direct = direct();
+
+    // true, wenn DataNote(BigDecimal) den Text per toString übernimmt (wie JSONProcessor.parse)
+    static private boolean direct()
+    {
+        try
+        {
+            DataNote Note = new DataNote(new Numeral("0X1F"));
+            return Note.retType() == DataType.Number && Note.asString().equals("0X1F") &&
+                   Note.equals(new JSONProcessor(true).parse("0x1f"));
+        }
+        catch (RuntimeException Exce) { return false; }
+    }
+
+    // ### Konstruktoren ###
+
+    /** Number/Boole/Void mit XtraNumb-Formen, Zahlen wie JSONProcessor(true) */
+    public CSVTyping()
+    { this(Typable, true, false); }
+
+    public CSVTyping(Set<DataType> Types, boolean Xtra, boolean Normal)
+    {
+        Objects.requireNonNull(Types, "Types null");
+        if (!Typable.containsAll(Types))
+            throw new IllegalArgumentException("Only Number, Boole and Void are typable: "+Types);
+        this.Types = Types.isEmpty() ? EnumSet.noneOf(DataType.class) : EnumSet.copyOf(Types);
+        this.Xtra = Xtra; this.Normal = Normal;
+        this.Numbers = Direct ? null : new JSONProcessor(Xtra);
+    }
+
+    // ### Typisierung ###
+
+    /** Typisierte Note eines Feldtextes (null, wenn der Text String bleibt) */
+    public DataNote type(String Text)
+    {
+        DataType Type = CSVTypes.classify(Text, this.Xtra);
+        if (this.Types.contains(Type))
+            return switch (Type)
+            {
+                case Void -> VoidNote;
+                case Boole -> (Text.strip().charAt(0) == 't') ? TrueNote : FalseNote;
+                default -> this.number(Text.strip());
+            };
+        else return null;
+    }
+
+    @Override
+    public DataNote apply(DataNote Note, Boolean Tagy)
+    {
+        if (Note.retType() == DataType.String)
+        {
+            DataNote Typed = this.type(Note.asString());
+            return (Typed != null) ? Typed : Note;
+        }
+        else return Note;
+    }
+
+    /** Typisierung mit nachgeschalteter Trans (erhält die typisierten Notes) */
+    public BiFunction<DataNote, Boolean, DataNote> with
+    (BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans)
+    { return (Note, Tagy) -> Trans.apply(this.apply(Note, Tagy), Tagy); }
+
+    // Zahl-Note eines gültigen (getrimmten) Zahl-Textes
+    private DataNote number(String Text)
+    {
+        if (this.Normal) return new DataNote(NexusNumbers.parseDouble(Text));
+        else if (Direct) return new DataNote(new Numeral(numeral(Text)));
+        else return this.Numbers.parse(Text);
+    }
+
+    // Zahl-Text wie JSONProcessor.parse: ohne '+' und Unterstriche, ohne führende Nullen
+    // (Ganzzahl-Teil, Exponent), Bruch ohne End-Nullen (mindestens eine Ziffer), Buchstaben groß
+    static private String numeral(String Text)
+    {
+        StringBuilder SB = new StringBuilder(Text.length());
+        int X = 0, Y = Text.length(), Radix = 10;
+        char C = Text.charAt(X);
+        if (C == '-') SB.append('-');
+        if (C == '-' || C == '+') X++;
+        if (Text.startsWith("Infinity", X) || Text.startsWith("NaN", X))
+            return SB.append(Text, X, Y).toString();
+        if (Y-X > 2 && Text.charAt(X) == '0')
+        {
+            Radix = switch (Text.charAt(X+1))
+            {
+                case 'b', 'B' -> 2;
+                case 'q', 'Q' -> 4;
+                case 'o', 'O' -> 8;
+                case 'x', 'X' -> 16;
+                default -> 10;
+            };
+            if (Radix != 10) { SB.append('0').append(Character.toUpperCase(Text.charAt(X+1))); X += 2; }
+        }
+
+        X = digits(Text, X, Y, Radix, true, SB);
+        if (X < Y && Text.charAt(X) == '.')
+        {
+            X = digits(Text, X+1, Y, Radix, false, SB.append('.'));
+            int Z = SB.length();
+            while (SB.charAt(Z-1) == '0' && SB.charAt(Z-2) != '.') Z--;
+            SB.setLength(Z);
+        }
+        if (X < Y)                                                  // E bzw. P
+        {
+            SB.append(Character.toUpperCase(Text.charAt(X++)));
+            C = Text.charAt(X);
+            if (C == '-') SB.append('-');
+            if (C == '-' || C == '+') X++;
+            digits(Text, X, Y, Radix, true, SB);
+        }
+        return SB.toString();
+    }
+
+    // Hängt die Ziffern ab X groß und ohne Unterstriche an Out an (Lead: ohne führende Nullen,
+    // mindestens eine Ziffer); liefert das Ende der Ziffernfolge
+    static private int digits(String Text, int X, int Y, int Radix, boolean Lead, StringBuilder Out)
+    {
+        int Start = Out.length();
+        for (; X < Y; X++)
+        {
+            char C = Text.charAt(X);
+            if (C == '_') continue;
+            if (Character.digit(C, Radix) < 0 || C >= 128) break;
+            if (!Lead || C != '0' || Out.length() > Start) Out.append(Character.toUpperCase(C));
+        }
+        if (Out.length() == Start) Out.append('0');
+        return X;
+    }
+
+    // ### Natives Parsing (nur unquotierte Felder) ###
+
+    public DataNote parse(CSVProcessor Proc, CharSequence Chars, CharSequence Header)
+    { return this.parse(Proc, Chars, Header, Processor.IdentTrans); }
+
+    /** 2D-Note wie CSVProcessor.parse(Chars, Header, Trans), unquotierte Felder typisiert */
+    public DataNote parse
+    (CSVProcessor Proc, CharSequence Chars, CharSequence Header,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans)
+    {
+        CSVReader Lines = new CSVReader(Proc, new StringReader(Chars.toString()), Header, Trans);
+        Lines.trackQuotes();
+        List<String> Texts = new ArrayList<>();
+        List<long[]> Quotes = new ArrayList<>();
+        List<List<DataNote>> Fields = new ArrayList<>();
+        String Text;
+        do                                      // erst alle Zeilen parsen (Syntaxfehler vor Trans)
+        {
+            Text = Lines.nextText();
+            if (Text != null) { Texts.add(Text); Quotes.add(Lines.quotes()); }
+            if (Texts.size() - Fields.size() == ChunkLines || Text == null && Texts.size() > Fields.size())
+            {
+                try { Fields.addAll(Lines.fields(Texts.subList(Fields.size(), Texts.size()))); }
+                catch (RuntimeException Exce)   // gleiche Exception wie CSVProcessor.parse
+                {
+                    int Codes = (int) Lines.index();
+                    throw CSVParallel.failure(Proc, Chars.subSequence(0, Character.offsetByCodePoints(Chars, 0, Codes)),
+                                              Header, Exce);
+                }
+            }
+        }
+        while (Text != null);
+
+        List<DataNote> Rows = new ArrayList<>(Texts.size());
+        for (int X = 0; X < Texts.size(); X++)
+            Rows.add(Lines.line(Texts.get(X), this.type(Fields.get(X), Quotes.get(X), Lines.head())));
+        return Lines.data(Rows);
+    }
+
+    // Typisiert die unquotierten Felder einer Zeile (Quotierungs-Bitmaske wie CSVReader);
+    // fehlende Felder bei Header wie unquotiert "null" (CSVProcessor füllt "null" auf)
+    private List<DataNote> type(List<DataNote> Fields, long[] Quoted, List<DataNote> Head)
+    {
+        List<DataNote> Typed = new ArrayList<>(Math.max(Fields.size(), (Head != null) ? Head.size() : 0));
+        for (int Y = 0; Y < Fields.size(); Y++)
+        {
+            DataNote Field = Fields.get(Y), Note = null;
+            boolean Quote = (Y >>> 6) < Quoted.length && (Quoted[Y >>> 6] & 1L << Y) != 0;
+            if (!Quote && Field.retType() == DataType.String)
+                Note = this.type(Field.asString());
+            Typed.add((Note != null) ? Note : Field);
+        }
+        if (Head != null && Typed.size() < Head.size())
+        {
+            DataNote Note = this.type(NullText.asString());
+            while (Typed.size() < Head.size()) Typed.add((Note != null) ? Note : NullText);
+        }
+        return Typed;
+    }
+}
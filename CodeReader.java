@@ -0,0 +1,79 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+/*
+Gepufferte Code-Punkt-Quelle über einem Reader (für streamende Verarbeitung):
+
+* liefert UTF32-Code-Punkte statt UTF16-Chars (Surrogatpaare kombiniert,
+  ungepaarte Surrogate einzeln, damit der Processor sie als Fehler meldet)
+* ein Code-Punkt Vorausschau per 'peek', Position als Code-Punkt-Index
+*/
+final class CodeReader implements Closeable
+{
+    static final int EndCode = -1;              // Ende der Eingabe
+    static private final int NoneCode = -2;     // kein vorgelesener Code
+    static private final int BuffSize = 1 << 13;
+
+    private final Reader Input;
+    private final char[] Buff = new char[BuffSize];
+    private int Size = 0, Indx = 0;
+    private int Next = NoneCode;
+    private long Count = 0;                     // Anzahl gelesener Code-Punkte
+
+    CodeReader(Reader Input)
+    { this.Input = Input; }
+
+    // Liefert den nächsten Code-Punkt oder EndCode
+    int read()
+    {
+        int Code = this.peek();
+        this.Next = NoneCode;
+        if (Code != EndCode) this.Count++;
+        return Code;
+    }
+
+    // Liefert den nächsten Code-Punkt ohne ihn zu verbrauchen
+    int peek()
+    {
+        if (this.Next == NoneCode)
+        {
+            int C = this.unit();
+            if (C != EndCode && Character.isHighSurrogate((char)C))
+            {
+                int D = this.unit();
+                if (D != EndCode && Character.isLowSurrogate((char)D))
+                    C = Character.toCodePoint((char)C, (char)D);
+                else if (D != EndCode) this.Indx--;     // ungepaartes Surrogat
+            }
+            this.Next = C;
+        }
+        return this.Next;
+    }
+
+    // Anzahl bereits gelesener Code-Punkte (Index des nächsten Code-Punkts)
+    long index()
+    { return this.Count; }
+
+    private int unit()
+    {
+        if (this.Indx == this.Size)
+            try
+            {
+                int N;
+                do N = this.Input.read(this.Buff, 0, this.Buff.length); while (N == 0);
+                if (N < 0) return EndCode;
+                this.Size = N; this.Indx = 0;
+            }
+            catch (IOException Exce) { throw new UncheckedIOException(Exce); }
+        return this.Buff[this.Indx++];
+    }
+
+    @Override
+    public void close()
+    {
+        try { this.Input.close(); }
+        catch (IOException Exce) { throw new UncheckedIOException(Exce); }
+    }
+}
@@ -0,0 +1,511 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static lingolava.Nexus.*;
+import static lingolava.Nexus.DataNote.*;
+
+/*
+Typisierte Bindung von DataNotes bzw. CSV-Zeilen an Java-Records und Beans:
+
+* asList(Class)/asMap(Class, Class) schlagen die Konvertierung pro Element
+  nach, handgeschriebene Lambdas (z.B. Nt -> Nt.asList(DataNote::asString))
+  erzeugen Zwischen-Collections pro Zeile
+* DataBinder übersetzt einmal pro Zieltyp (gecacht) die Properties in
+  MethodHandles: Records über Komponenten und kanonischen Konstruktor, Beans
+  über parameterlosen Konstruktor und setX/getX (isX) (alphabetisch geordnet)
+* Keys (Table-Zeilen, CSV-Header) werden den Properties per Namen zugeordnet
+  (exakt, sonst ohne Groß-/Kleinschreibung), Array-Zeilen bzw. CSV ohne
+  Header per Position (nur Records: Bean-Properties haben keine Reihenfolge,
+  Beans brauchen daher Keys bzw. einen Header, z.B. als externe Header-Zeile);
+  fehlende Properties bleiben null/0/false, unbekannte Keys werden ignoriert
+* CSV wird zeilenweise per CSVReader gelesen und direkt aus den Feldtexten
+  gebunden; einfache Zeilen (druckbares ASCII ohne Quotes/Escapes) werden
+  dabei ohne DataNotes geteilt, andere per CSVProcessor geparst
+* Property-Typen: String, Zahlen (primitiv, geboxt, BigDecimal/BigInteger,
+  inkl. XtraNumb-Formen), boolean, char, Enums (per Namen), DataNote (roh),
+  Object (per DataNote.as) und geschachtelte Records/Beans (aus Tables);
+  unquotiert "null" bzw. leere Felder sind null (außer für String-Properties);
+  ganzzahlige und BigDecimal/BigInteger-Properties exakt (kein Umweg über
+  double), Nachkommastellen bzw. Werte außerhalb des Wertebereichs sind ungültig
+* Rückrichtung: note/notes (Table-Zeilen) und present (CSV mit Header)
+
+Beispiel:
+    record Surname(String Code, String Char, String Name) {}
+    List<Surname> Names = DataBinder.of(Surname.class).parse(new CSVProcessor(), CSV, "Code,Char,Name");
+*/
+public final class DataBinder<T>
+{
+    static private final MethodHandles.Lookup Lookup = MethodHandles.lookup();
+    static private final DataNote VoidNote = new DataNote();
+    static private final ClassValue<DataBinder<?>> Binders = new ClassValue<>()
+    {
+        @Override
+        protected DataBinder<?> computeValue(Class<?> Type)
+        { return new DataBinder<>(Type); }
+    };
+
+    // Property: Name, Typ, Konvertierungen und Zugriffe
+    private record Prop
+    (String Name, Class<?> Type, Function<String, Object> ByText, Function<DataNote, Object> ByNote,
+     MethodHandle Getter, MethodHandle Setter) {}
+
+    private final Class<T> Type;
+    private final List<Prop> Props;
+    private final List<DataNote> Keys;      // Property-Namen als Keys (Rückrichtung)
+    private final Object[] Defaults;        // Vorgaben fehlender Properties (Record)
+    private final MethodHandle Make;        // Record: (Object[])Object, Bean: ()Object
+    private final boolean Recd;
+
+    /** Binder des Zieltyps (einmal pro Typ erzeugt) */
+    @SuppressWarnings("unchecked")
+    public static <T> DataBinder<T> of(Class<T> Type)
+    { return (DataBinder<T>)Binders.get(Type); }
+
+    private DataBinder(Class<T> Type)
+    {
+        this.Type = Type;
+        this.Recd = Type.isRecord();
+        List<Prop> Props = new ArrayList<>();
+        try
+        {
+            if (this.Recd)
+            {
+                RecordComponent[] Comps = Type.getRecordComponents();
+                Class<?>[] Types = new Class<?>[Comps.length];
+                for (int X = 0; X < Comps.length; X++)
+                {
+                    Types[X] = Comps[X].getType();
+                    Props.add(prop(Comps[X].getName(), Types[X], unreflect(Comps[X].getAccessor()), null));
+                }
+                Constructor<T> Ctor = Type.getDeclaredConstructor(Types);
+                Ctor.setAccessible(true);
+                this.Make = Lookup.unreflectConstructor(Ctor)
+                                  .asType(MethodType.genericMethodType(Types.length))
+                                  .asSpreader(Object[].class, Types.length);
+            }
+            else if (!Type.isInterface() && !Type.isPrimitive() && !Modifier.isAbstract(Type.getModifiers()))
+            {
+                Map<String, Method> Setters = new TreeMap<>(), Getters = new TreeMap<>();
+                for (Method M : Type.getMethods())
+                    if (!Modifier.isStatic(M.getModifiers()))
+                    {
+                        String N = M.getName();
+                        if (N.startsWith("set") && N.length() > 3 && M.getParameterCount() == 1)
+                            Setters.put(N.substring(3), M);
+                        else if (N.startsWith("get") && N.length() > 3 && M.getParameterCount() == 0 && !N.equals("getClass"))
+                            Getters.put(N.substring(3), M);
+                        else if (N.startsWith("is") && N.length() > 2 && M.getParameterCount() == 0 &&
+                                 M.getReturnType() == boolean.class)
+                            Getters.putIfAbsent(N.substring(2), M);
+                    }
+                for (Map.Entry<String, Method> S : Setters.entrySet())
+                {
+                    Method G = Getters.get(S.getKey());
+                    Class<?> PT = S.getValue().getParameterTypes()[0];
+                    if (G != null && G.getReturnType() == PT)
+                        Props.add(prop(S.getKey(), PT, unreflect(G), unreflect(S.getValue())));
+                }
+                Constructor<T> Ctor = Type.getDeclaredConstructor();
+                Ctor.setAccessible(true);
+                this.Make = Lookup.unreflectConstructor(Ctor).asType(MethodType.methodType(Object.class));
+            }
+            else throw new IllegalArgumentException("Record or bean class expected: "+Type.getName());
+        }
+        catch (NoSuchMethodException | IllegalAccessException | RuntimeException Exce)
+        {
+            if (Exce instanceof IllegalArgumentException IAE) throw IAE;
+            else throw new IllegalArgumentException("Unbindable type "+Type.getName(), Exce);
+        }
+        this.Props = List.copyOf(Props);
+        this.Keys = Props.stream().map(P -> new DataNote(P.Name())).toList();
+        this.Defaults = new Object[Props.size()];
+        for (int X = 0; X < Props.size(); X++) this.Defaults[X] = primitive(Props.get(X).Type());
+    }
+
+    // ### Binden ###
+
+    /** Property-Namen in Bindungsreihenfolge */
+    public List<String> names()
+    { return this.Props.stream().map(Prop::Name).toList(); }
+
+    /** Bindet eine Table-Zeile (per Keys) bzw. Array-Zeile (per Position, nur Records) */
+    public T bind(DataNote Row)
+    {
+        Object[] Args = this.Defaults.clone();
+        boolean[] Sets = new boolean[Args.length];
+        if (Row.retType() == DataType.Table)
+            for (Map.Entry<DataNote, DataNote> Item : Row.asMap(Function.identity(), Function.identity()).entrySet())
+            {
+                int X = this.slot(Item.getKey().asString());
+                if (X >= 0) { Args[X] = this.Props.get(X).ByNote().apply(Item.getValue()); Sets[X] = true; }
+            }
+        else if (Row.retType() == DataType.Array)
+        {
+            this.positional();
+            List<DataNote> Items = Row.asList(Function.identity());
+            for (int X = 0; X < Math.min(Items.size(), Args.length); X++)
+            { Args[X] = this.Props.get(X).ByNote().apply(Items.get(X)); Sets[X] = true; }
+        }
+        else throw new IllegalArgumentException("Table or array row expected: "+Row.retType());
+        return this.make(Args, Sets);
+    }
+
+    /** Bindet alle Zeilen einer 2D-Note (z.B. von CSVProcessor.parse oder JSON) */
+    public List<T> bindAll(DataNote Data)
+    {
+        if (Data.retType() == DataType.Array)
+        {
+            List<T> Values = new ArrayList<>(Data.extent());
+            for (DataNote Row : Data.asList(Function.identity())) Values.add(this.bind(Row));
+            return Values;
+        }
+        else throw new IllegalArgumentException("Array of rows expected: "+Data.retType());
+    }
+
+    // ### CSV ###
+
+    public List<T> parse(CSVProcessor Proc, CharSequence Chars, CharSequence Header)
+    {
+        try (Stream<T> Rows = this.rows(Proc, new StringReader(Chars.toString()), Header))
+        { return Rows.toList(); }
+    }
+
+    /** Bindet CSV-Zeilen streamend (Header wie CSVReader; null: per Position, nur Records) */
+    public Stream<T> rows(CSVProcessor Proc, Reader Input, CharSequence Header)
+    {
+        CSVReader Lines = new CSVReader(Proc, Input, Header);
+        List<DataNote> Head = Lines.head();
+        int[] Slots;                        // Spalte -> Property (-1: ignoriert)
+        if (Head != null)
+        {
+            Slots = new int[Head.size()];
+            for (int X = 0; X < Slots.length; X++) Slots[X] = this.slot(Head.get(X).asString());
+        }
+        else
+        {
+            this.positional();
+            Slots = new int[this.Props.size()];
+            for (int X = 0; X < Slots.length; X++) Slots[X] = X;
+        }
+        Iterator<T> Values = new Iterator<>()
+        {
+            private String Text = null;
+
+            @Override
+            public boolean hasNext()
+            {
+                if (this.Text == null) this.Text = Lines.nextText();
+                return this.Text != null;
+            }
+
+            @Override
+            public T next()
+            {
+                if (this.hasNext())
+                {
+                    List<String> Fields = Lines.texts(this.Text);
+                    this.Text = null;
+                    return DataBinder.this.bind(Fields, Slots);
+                }
+                else throw new NoSuchElementException();
+            }
+        };
+        int Flags = Spliterator.ORDERED | Spliterator.NONNULL;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(Values, Flags), false)
+                            .onClose(Lines::close);
+    }
+
+    // Positionen entsprechen nur bei Records der Deklarationsreihenfolge
+    private void positional()
+    {
+        if (!this.Recd)
+            throw new IllegalArgumentException("Positional binding needs a record (bean properties are unordered, "+
+                                               "use keys or a header): "+this.Type.getName());
+    }
+
+    private T bind(List<String> Fields, int[] Slots)
+    {
+        Object[] Args = this.Defaults.clone();
+        boolean[] Sets = new boolean[Args.length];
+        for (int X = 0; X < Math.min(Fields.size(), Slots.length); X++)
+            if (Slots[X] >= 0)
+            {
+                Args[Slots[X]] = this.Props.get(Slots[X]).ByText().apply(Fields.get(X));
+                Sets[Slots[X]] = true;
+            }
+        return this.make(Args, Sets);
+    }
+
+    // ### Rückrichtung ###
+
+    /** Table-Note der Properties (Keys in Bindungsreihenfolge) */
+    public DataNote note(T Value)
+    {
+        Map<DataNote, DataNote> Tabl = new LinkedHashMap<>();
+        for (int X = 0; X < this.Props.size(); X++)
+            Tabl.put(this.Keys.get(X), toNote(this.get(X, Value)));
+        return Tabl.isEmpty() ? new DataNote(Collections.emptyMap()) : new DataNote(Tabl);
+    }
+
+    /** Array-Note der Table-Notes */
+    public DataNote notes(Collection<? extends T> Values)
+    {
+        List<DataNote> Rows = new ArrayList<>(Values.size());
+        for (T V : Values) Rows.add(this.note(V));
+        return new DataNote(Rows);
+    }
+
+    /** Schreibt die Werte als CSV mit Header-Zeile (null als "null") */
+    public void present(CSVProcessor Proc, Collection<? extends T> Values, Appendable Out) throws IOException
+    {
+        List<DataNote> Lines = new ArrayList<>(Values.size()+1);
+        Lines.add(new DataNote(this.Keys));
+        for (T V : Values)
+        {
+            List<DataNote> Fields = new ArrayList<>(this.Props.size());
+            for (int X = 0; X < this.Props.size(); X++) Fields.add(new DataNote(toText(this.get(X, V))));
+            Lines.add(new DataNote(Fields));
+        }
+        NexusWriter.present(Proc, new DataNote(Lines), Out);
+    }
+    public String present(CSVProcessor Proc, Collection<? extends T> Values)
+    {
+        StringBuilder SB = new StringBuilder();
+        try { this.present(Proc, Values, SB); }
+        catch (IOException Exce) { throw new UncheckedIOException(Exce); }
+        return SB.toString();
+    }
+
+    @Override
+    public String toString()
+    { return "{Type="+this.Type.getName()+", Names="+this.names()+"}"; }
+
+    // ### Intern ###
+
+    // Property-Index zu einem Key (exakt, sonst ohne Groß-/Kleinschreibung; -1 unbekannt)
+    private int slot(String Name)
+    {
+        for (int X = 0; X < this.Props.size(); X++)
+            if (this.Props.get(X).Name().equals(Name)) return X;
+        for (int X = 0; X < this.Props.size(); X++)
+            if (this.Props.get(X).Name().equalsIgnoreCase(Name)) return X;
+        return -1;
+    }
+
+    private T make(Object[] Args, boolean[] Sets)
+    {
+        try
+        {
+            if (this.Recd) return this.Type.cast((Object)this.Make.invokeExact(Args));
+            else
+            {
+                Object Bean = (Object)this.Make.invokeExact();
+                for (int X = 0; X < Args.length; X++)
+                    if (Sets[X]) this.Props.get(X).Setter().invokeExact(Bean, Args[X]);
+                return this.Type.cast(Bean);
+            }
+        }
+        catch (RuntimeException | Error Exce) { throw Exce; }
+        catch (Throwable Exce) { throw new IllegalStateException("Binding failed: "+this.Type.getName(), Exce); }
+    }
+
+    private Object get(int X, T Value)
+    {
+        try { return (Object)this.Props.get(X).Getter().invokeExact((Object)Value); }
+        catch (RuntimeException | Error Exce) { throw Exce; }
+        catch (Throwable Exce) { throw new IllegalStateException("Access failed: "+this.Type.getName(), Exce); }
+    }
+
+    static private MethodHandle unreflect(Method M) throws IllegalAccessException
+    {
+        M.setAccessible(true);
+        MethodHandle H = Lookup.unreflect(M);
+        return (M.getParameterCount() == 0)
+               ? H.asType(MethodType.methodType(Object.class, Object.class))
+               : H.asType(MethodType.methodType(void.class, Object.class, Object.class));
+    }
+
+    // ### Konvertierungen ###
+
+    static private Prop prop(String Name, Class<?> Type, MethodHandle Getter, MethodHandle Setter)
+    { return new Prop(Name, Type, byText(Name, Type), byNote(Name, Type), Getter, Setter); }
+
+    static private Object primitive(Class<?> Type)
+    {
+        if (!Type.isPrimitive()) return null;
+        else if (Type == boolean.class) return false;
+        else if (Type == char.class) return '\0';
+        else if (Type == double.class) return 0.0;
+        else if (Type == float.class) return 0.0f;
+        else if (Type == long.class) return 0L;
+        else if (Type == int.class) return 0;
+        else if (Type == short.class) return (short)0;
+        else return (byte)0;
+    }
+
+    // Wert aus einem Feldtext
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static private Function<String, Object> byText(String Name, Class<?> Type)
+    {
+        if (Type == String.class || Type == Object.class || Type == CharSequence.class) return Text -> Text;
+        else if (Type == DataNote.class) return DataNote::new;
+        Function<String, Object> Conv;
+        if (Type == boolean.class || Type == Boolean.class)
+            Conv = Text -> switch (Text)
+            {
+                case "true" -> Boolean.TRUE;
+                case "false" -> Boolean.FALSE;
+                default -> throw new NumberFormatException(Text);
+            };
+        else if (Type == char.class || Type == Character.class)
+            Conv = Text ->
+            {
+                if (Text.length() == 1) return Text.charAt(0);
+                else throw new NumberFormatException(Text);
+            };
+        else if (Type.isEnum())
+            Conv = Text -> Enum.valueOf((Class)Type, Text);
+        else if (Type == BigDecimal.class)
+            Conv = Text -> decimal(Text);
+        else if (Type == BigInteger.class)
+            Conv = Text -> decimal(Text).toBigIntegerExact();
+        else if (Type == double.class || Type == Double.class)
+            Conv = Text -> number(Text);
+        else if (Type == float.class || Type == Float.class)
+            Conv = Text -> (float)number(Text);
+        else if (Type == long.class || Type == Long.class)
+            Conv = Text -> integer(Text, Long.MIN_VALUE, Long.MAX_VALUE);
+        else if (Type == int.class || Type == Integer.class)
+            Conv = Text -> (int)integer(Text, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        else if (Type == short.class || Type == Short.class)
+            Conv = Text -> (short)integer(Text, Short.MIN_VALUE, Short.MAX_VALUE);
+        else if (Type == byte.class || Type == Byte.class)
+            Conv = Text -> (byte)integer(Text, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        else if (nested(Type))
+            return Text -> { throw new IllegalArgumentException("Invalid value for "+Name+" (table expected): "+Text); };
+        else throw new IllegalArgumentException("Unsupported type of "+Name+": "+Type.getName());
+
+        Function<String, Object> Parse = Conv;
+        return Text ->
+        {
+            String T = Text.strip();
+            if (T.isEmpty() || T.equals("null"))
+                if (Type.isPrimitive()) throw new IllegalArgumentException("Missing value for "+Name);
+                else return null;
+            try { return Parse.apply(T); }
+            catch (IllegalArgumentException | ArithmeticException Exce)
+            { throw new IllegalArgumentException("Invalid value for "+Name+": "+Text); }
+        };
+    }
+
+    // Wert aus einer Note (Strings wie Feldtexte)
+    static private Function<DataNote, Object> byNote(String Name, Class<?> Type)
+    {
+        if (Type == DataNote.class) return Note -> Note;
+        else if (Type == Object.class) return DataNote::as;
+        Function<String, Object> ByText = byText(Name, Type);
+        boolean Nested = nested(Type);
+        return Note -> switch (Note.retType())
+        {
+            case Void ->
+            {
+                if (Type.isPrimitive()) throw new IllegalArgumentException("Missing value for "+Name);
+                else yield null;
+            }
+            case Table, Array ->
+            {
+                if (Nested) yield of(Type).bind(Note);
+                else throw new IllegalArgumentException("Invalid value for "+Name+": "+Note.asJEXIS());
+            }
+            case Option -> throw new IllegalArgumentException("Invalid value for "+Name+": "+Note.asJEXIS());
+            default -> ByText.apply(Note.asString());
+        };
+    }
+
+    // true für geschachtelt bindbare Typen (Records bzw. Beans außerhalb von java.*)
+    static private boolean nested(Class<?> Type)
+    {
+        if (Type.isRecord()) return true;
+        else if (Type.isPrimitive() || Type.isArray() || Type.isInterface() || Type.isEnum() ||
+                 Modifier.isAbstract(Type.getModifiers()) || Type.getName().startsWith("java.")) return false;
+        else
+            try { Type.getDeclaredConstructor(); return true; }
+            catch (NoSuchMethodException Exce) { return false; }
+    }
+
+    static private double number(String Text)
+    {
+        double D = NexusNumbers.parseDouble(Text);
+        if (!Double.isNaN(D) || Text.endsWith("NaN")) return D;
+        else throw new NumberFormatException(Text);
+    }
+
+    // Exakter ganzzahliger Wert (0/1-Defaults unterscheiden einen Fehler vom Wert 0)
+    static private long integer(String Text, long Min, long Max)
+    {
+        long L = NexusNumbers.parseWhole(Text, 0);
+        if (L == 0 && NexusNumbers.parseWhole(Text, 1) != 0)
+            throw new ArithmeticException("Not a whole number in range: "+Text);
+        if (L >= Min && L <= Max) return L;
+        else throw new ArithmeticException("Out of range: "+Text);
+    }
+
+    static private BigDecimal decimal(String Text)
+    {
+        BigDecimal D = NexusNumbers.decimal(Text);
+        if (D != null) return D;
+        else throw new NumberFormatException(Text);
+    }
+
+    // Property-Wert als Note bzw. CSV-Text
+    static private DataNote toNote(Object Value)
+    {
+        if (Value == null) return VoidNote;
+        else if (Value instanceof DataNote Note) return Note;
+        else if (Value instanceof Enum<?> E) return new DataNote(E.name());
+        else if (Value instanceof Number || Value instanceof Boolean || Value instanceof Character ||
+                 Value instanceof CharSequence)
+            return new DataNote(Value);
+        else return of(Value.getClass()).noteOf(Value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private DataNote noteOf(Object Value)
+    { return this.note((T)Value); }
+
+    static private String toText(Object Value)
+    {
+        if (Value == null) return "null";
+        else if (Value instanceof DataNote Note) return Note.isSimplex() ? Note.asString() : Note.asJEXIS();
+        else if (Value instanceof Enum<?> E) return E.name();
+        else if (Value instanceof Number || Value instanceof Boolean || Value instanceof Character ||
+                 Value instanceof CharSequence)
+            return Value.toString();
+        else return of(Value.getClass()).noteOf(Value).asJSON();
+    }
+}
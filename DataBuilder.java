@@ -0,0 +1,170 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static lingolava.Nexus.*;
+import static lingolava.Nexus.DataNote.*;
+
+/*
+Veränderlicher Builder zum schrittweisen Aufbau großer (unveränderlicher) DataNotes:
+
+* DataNote(Object) benötigt zuvor einen kompletten Java-Map/List-Graphen,
+  wiederholte at(Key, Val)-Aufrufe kopieren jedesmal die ganze Table
+* DataBuilder sammelt Items (DataNotes oder verschachtelte Builder) direkt
+  und erzeugt in 'build' jeden Knoten genau einmal von innen nach außen
+  (d.h. auch der Hash jedes Knotens wird nur einmal berechnet)
+* gleiche Simplex-Werte werden über alle verschachtelten Builder hinweg
+  gepoolt (eine DataNote-Instanz je Wert, analog zum Parsing)
+* Table: put/putTable/putArray/putOption (gleicher Key überschreibt),
+  Array: add/addTable/addArray/addOption, Option: add (nur Werte, keine
+  verschachtelten Builder, da Option-Items Keys sind); ein anderer
+  DataBuilder als Wert wird dabei eingefroren (per 'build')
+* nach 'build' ist der Builder (samt verschachtelten) eingefroren; weitere
+  'build'-Aufrufe liefern dieselbe DataNote, Änderungen eine Exception
+
+Beispiel:
+    DataBuilder DB = DataBuilder.table().put("Name", "X");
+    DB.putArray("Rows").add(1).add(2.5).addTable().put('K', true);
+    DataNote DN = DB.build();
+*/
+public final class DataBuilder
+{
+    private final DataType Type;                    // Table, Array oder Option
+    private final Map<DataNote, DataNote> Pool;     // gemeinsamer Simplex-Pool
+    private final Map<DataNote, Object> Tabl;       // Table: Key -> DataNote/DataBuilder
+    private final List<Object> Arry;                // Array: DataNote/DataBuilder
+    private final Set<DataNote> Optn;               // Option: DataNote
+    private DataNote Note = null;                   // eingefrorene DataNote
+
+    private DataBuilder(DataType Type, Map<DataNote, DataNote> Pool)
+    {
+        this.Type = Type; this.Pool = Pool;
+        this.Tabl = (Type == DataType.Table) ? new LinkedHashMap<>() : null;
+        this.Arry = (Type == DataType.Array) ? new ArrayList<>() : null;
+        this.Optn = (Type == DataType.Option) ? new LinkedHashSet<>() : null;
+    }
+
+    public static DataBuilder table()
+    { return new DataBuilder(DataType.Table, new HashMap<>()); }
+    public static DataBuilder array()
+    { return new DataBuilder(DataType.Array, new HashMap<>()); }
+    public static DataBuilder option()
+    { return new DataBuilder(DataType.Option, new HashMap<>()); }
+
+    // ### Table ###
+
+    public DataBuilder put(Object Key, Object Val)
+    {
+        DataNote Ky = this.note(Key), Vl = this.note(Val);
+        this.check(DataType.Table);
+        this.Tabl.put(Ky, Vl);
+        return this;
+    }
+
+    /** Verschachtelter Builder als Value zum Key (liefert den neuen Builder) */
+    public DataBuilder putTable(Object Key)
+    { return this.nest(Key, DataType.Table); }
+    public DataBuilder putArray(Object Key)
+    { return this.nest(Key, DataType.Array); }
+    public DataBuilder putOption(Object Key)
+    { return this.nest(Key, DataType.Option); }
+
+    private DataBuilder nest(Object Key, DataType Type)
+    {
+        DataNote Ky = this.note(Key);
+        this.check(DataType.Table);
+        DataBuilder Nest = new DataBuilder(Type, this.Pool);
+        this.Tabl.put(Ky, Nest);
+        return Nest;
+    }
+
+    // ### Array/Option ###
+
+    public DataBuilder add(Object Val)
+    {
+        DataNote Vl = this.note(Val);
+        this.check((this.Type == DataType.Option) ? DataType.Option : DataType.Array);
+        if (this.Optn != null) this.Optn.add(Vl);
+        else this.Arry.add(Vl);
+        return this;
+    }
+
+    /** Verschachtelter Builder als nächstes Array-Item (liefert den neuen Builder) */
+    public DataBuilder addTable()
+    { return this.nest(DataType.Table); }
+    public DataBuilder addArray()
+    { return this.nest(DataType.Array); }
+    public DataBuilder addOption()
+    { return this.nest(DataType.Option); }
+
+    private DataBuilder nest(DataType Type)
+    {
+        this.check(DataType.Array);
+        DataBuilder Nest = new DataBuilder(Type, this.Pool);
+        this.Arry.add(Nest);
+        return Nest;
+    }
+
+    // ### Einfrieren ###
+
+    /** Aktuelle Anzahl der Items */
+    public int extent()
+    {
+        if (this.Tabl != null) return this.Tabl.size();
+        else if (this.Arry != null) return this.Arry.size();
+        else return this.Optn.size();
+    }
+
+    /** Erzeugt die DataNote (einmalig) und friert den Builder ein */
+    public DataNote build()
+    {
+        if (this.Note == null)
+            if (this.Tabl != null)
+            {
+                Map<DataNote, DataNote> Items = new LinkedHashMap<>(2*this.Tabl.size());
+                for (Map.Entry<DataNote, Object> E : this.Tabl.entrySet())
+                    Items.put(E.getKey(), built(E.getValue()));
+                this.Note = new DataNote(Items);
+            }
+            else if (this.Arry != null)
+            {
+                List<DataNote> Items = new ArrayList<>(this.Arry.size());
+                for (Object Item : this.Arry) Items.add(built(Item));
+                this.Note = new DataNote(Items);
+            }
+            else this.Note = new DataNote(this.Optn);
+        return this.Note;
+    }
+
+    static private DataNote built(Object Item)
+    { return (Item instanceof DataBuilder Nest) ? Nest.build() : (DataNote)Item; }
+
+    // ### Hilfsmethoden ###
+
+    private void check(DataType Type)
+    {
+        if (this.Note != null)
+            throw new IllegalStateException("Builder already built (frozen)");
+        else if (this.Type != Type)
+            throw new UnsupportedOperationException(this.Type+" builder cannot build "+Type+" items");
+    }
+
+    // DataNote zum Objekt (null als Void, anderer Builder eingefroren), Simplex-Werte gepoolt
+    private DataNote note(Object Obj)
+    {
+        if (Obj == this) throw new IllegalArgumentException("Builder cannot contain itself");
+        DataNote Note = (Obj instanceof DataNote DN) ? DN
+                      : (Obj instanceof DataBuilder DB) ? DB.build()
+                      : (Obj != null) ? new DataNote(Obj) : new DataNote();
+        if (Note.isSimplex())
+        {
+            DataNote Pooled = this.Pool.putIfAbsent(Note, Note);
+            return (Pooled != null) ? Pooled : Note;
+        }
+        else return Note;
+    }
+}
@@ -0,0 +1,575 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongFunction;
+
+import static lingolava.Nexus.*;
+import static lingolava.Nexus.DataNote.*;
+
+/*
+Spaltenweise (columnar) CSV-Ingestion mit typisierten, primitiven Spalten:
+
+* CSVProcessor.parse liefert eine zeilenweise 2D-DataNote mit einer Note
+  (inkl. Code-Punkt-Liste) pro Zelle; für numerische Auswertungen über
+  Spalten ist das die falsche Form und kostet viel Speicher
+* DataFrame liest die Zeilen per CSVReader (gleiche Marks, Escapes und
+  Header wie CSVProcessor.parse: null, "" oder externe Header-Zeile;
+  Syntaxfehler als Exception des CSVProcessors per Parsing des Textes bis
+  zum fehlerhaften Block wie bei CSVParallel) und
+  speichert jede Spalte kompakt: Number als long[] (nur ganzzahlige Werte
+  im long-Bereich, exakt auch über 2^53) bzw. double[], Boole als BitSet,
+  String dictionary-kodiert (int[] auf die verschiedenen Texte), fehlende
+  Werte in einem Null-BitSet; Spalten per Header-Name (ohne Header "0", "1", ...)
+* Typ-Inferenz pro Spalte ohne Exceptions (per CSVTypes, jeder verschiedene
+  Text nur einmal): unquotierte Felder wie JSON-Simplexe (mit Xtra inkl.
+  XtraNumb-Formen), quotierte Felder immer als String; unquotiert "null",
+  leere und fehlende Felder (zu kurze Zeilen) sind fehlende Werte
+* eine Spalte ist Number bzw. Boole, wenn alle vorhandenen Werte es sind,
+  Void ohne vorhandene Werte, sonst String (mit den Feldtexten)
+* schnelle Scans und Aggregate über die primitiven Werte (count, sum, min,
+  max, mean, groupBy); Boole-Spalten zählen dabei als 0/1 (wie asNumber)
+* Rückwandlung bei Bedarf: toNote (2D-Note wie CSVProcessor.parse, aber mit
+  typisierten Werten, ganzzahlige Spalten als long, sonst double wie NormTrans
+  in Jexis) bzw. toCSV
+
+Beispiel:
+    DataFrame DF = DataFrame.parse(new CSVProcessor(), Path.of("Sales.csv"), "");
+    double Total = DF.column("Amount").sum();
+    Map<DataNote, DataFrame.Stats> ByRegion = DF.groupBy("Region", "Amount");
+*/
+public final class DataFrame
+{
+    static private final int ChunkLines = 1 << 8;      // Zeilen pro Parse-Aufruf
+    static private final String NullText = "null";      // Text fehlender Werte (toCSV)
+    static private final DataNote VoidNote = new DataNote();
+    static private final DataNote[] BooleNotes = {new DataNote(false), new DataNote(true)};
+
+    /** Kennzahlen einer Spalte bzw. Gruppe (Min/Max NaN ohne Werte) */
+    public record Stats(long Count, double Sum, double Min, double Max)
+    {
+        public double mean()
+        { return (this.Count > 0) ? this.Sum/this.Count : Double.NaN; }
+    }
+
+    private final List<String> Names;
+    private final Map<String, Column> Columns;
+    private final boolean Headed;       // true mit Header (Table-Zeilen)
+    private final int Rows;
+
+    private DataFrame(List<Column> Columns, boolean Headed, int Rows)
+    {
+        List<String> Names = new ArrayList<>(Columns.size());
+        Map<String, Column> Index = new LinkedHashMap<>();
+        for (Column C : Columns)
+            if (Index.putIfAbsent(C.Name, C) == null) Names.add(C.Name);
+            else throw new IllegalArgumentException("Duplicate column "+C.Name);
+        this.Names = Collections.unmodifiableList(Names);
+        this.Columns = Index;
+        this.Headed = Headed;
+        this.Rows = Rows;
+    }
+
+    // ### Parsing ###
+
+    public static DataFrame parse(CSVProcessor Proc, CharSequence Chars, CharSequence Header)
+    { return parse(Proc, Chars, Header, false); }
+    public static DataFrame parse(CSVProcessor Proc, CharSequence Chars, CharSequence Header, boolean Xtra)
+    {
+        return parse(Proc, new StringReader(Chars.toString()), Header, Xtra,
+                     Codes -> Chars.subSequence(0, Character.offsetByCodePoints(Chars, 0, (int) Codes)));
+    }
+
+    public static DataFrame parse(CSVProcessor Proc, Reader Input, CharSequence Header)
+    { return parse(Proc, Input, Header, false); }
+    /** Liest alle Zeilen des Readers (der Reader wird nicht geschlossen; Syntaxfehler mit Indizes
+     relativ zum fehlerhaften Block, da der gelesene Text nicht erneut verfügbar ist) */
+    public static DataFrame parse(CSVProcessor Proc, Reader Input, CharSequence Header, boolean Xtra)
+    { return parse(Proc, Input, Header, Xtra, null); }
+
+    // Prefix liefert den Eingabetext bis zu einem Code-Punkt-Index (nur für Syntaxfehler, null: ohne)
+    static private DataFrame parse
+    (CSVProcessor Proc, Reader Input, CharSequence Header, boolean Xtra, LongFunction<CharSequence> Prefix)
+    {
+        CSVReader Lines = new CSVReader(Proc, Input, Header);
+        Lines.trackQuotes();
+        List<DataNote> Head = Lines.head();
+        List<Ingest> Ingests = new ArrayList<>();
+        if (Head != null)
+            for (DataNote Key : Head) Ingests.add(new Ingest(Key.asString(), 0));
+
+        int Rows = 0;
+        List<String> Texts = new ArrayList<>(ChunkLines);
+        List<long[]> Quotes = new ArrayList<>(ChunkLines);
+        String Text;
+        do
+        {
+            Text = Lines.nextText();
+            if (Text != null) { Texts.add(Text); Quotes.add(Lines.quotes()); }
+            if (Texts.size() == ChunkLines || Text == null && !Texts.isEmpty())
+            {
+                List<List<DataNote>> Fields;
+                try { Fields = Lines.fields(Texts); }
+                catch (RuntimeException Exce)   // gleiche Exception wie CSVProcessor.parse
+                {
+                    if (Prefix != null) throw CSVParallel.failure(Proc, Prefix.apply(Lines.index()), Header, Exce);
+                    else throw Exce;
+                }
+                for (int X = 0; X < Fields.size(); X++)
+                {
+                    List<DataNote> Line = Fields.get(X);
+                    long[] Quoted = Quotes.get(X);
+                    if (Head == null)           // ohne Header: Spalten nach breitester Zeile
+                        while (Ingests.size() < Line.size())
+                            Ingests.add(new Ingest(String.valueOf(Ingests.size()), Rows));
+                    for (int Y = 0; Y < Ingests.size(); Y++)
+                        if (Y < Line.size())
+                        {
+                            boolean Quote = (Y >>> 6) < Quoted.length && (Quoted[Y >>> 6] & 1L << Y) != 0;
+                            Ingests.get(Y).add(Line.get(Y).asString(), Quote, Xtra);
+                        }
+                        else Ingests.get(Y).skip();
+                    Rows++;
+                }
+                Texts.clear(); Quotes.clear();
+            }
+        }
+        while (Text != null);
+
+        List<Column> Columns = new ArrayList<>(Ingests.size());
+        for (Ingest I : Ingests) Columns.add(I.column(Rows));
+        return new DataFrame(Columns, Head != null, Rows);
+    }
+
+    /** Liest eine UTF-8-Datei (per Datei-Mapping wie NexusFiles) */
+    public static DataFrame parse(CSVProcessor Proc, Path File, CharSequence Header) throws IOException
+    { return parse(Proc, File, Header, false); }
+    public static DataFrame parse(CSVProcessor Proc, Path File, CharSequence Header, boolean Xtra) throws IOException
+    {
+        try (Reader Input = NexusFiles.reader(File))
+        { return parse(Proc, Input, Header, Xtra, Codes -> CSVParallel.prefix(File, Codes)); }
+    }
+
+    // ### Zugriffe ###
+
+    public int rows()
+    { return this.Rows; }
+
+    /** Spaltennamen in Originalreihenfolge (unveränderlich) */
+    public List<String> names()
+    { return this.Names; }
+
+    public Column column(String Name)
+    {
+        Column C = this.Columns.get(Name);
+        if (C != null) return C;
+        else throw new IllegalArgumentException("Unknown column "+Name);
+    }
+    public Column column(int Index)
+    { return this.column(this.Names.get(Index)); }
+
+    // ### Aggregate ###
+
+    /** Kennzahlen der Werte-Spalte pro Wert der Key-Spalte (Gruppen in Reihenfolge des Auftretens) */
+    public Map<DataNote, Stats> groupBy(String KeyName, String ValueName)
+    {
+        Column Key = this.column(KeyName), Value = this.column(ValueName);
+        Value.numeric();
+        int[] Groups = new int[this.Rows];
+        int[] Firsts = Key.groups(Groups);
+        int N = Firsts.length;
+        long[] Counts = new long[N];
+        double[] Sums = new double[N], Mins = new double[N], Maxs = new double[N];
+        Arrays.fill(Mins, Double.NaN); Arrays.fill(Maxs, Double.NaN);
+        for (int R = 0; R < this.Rows; R++)
+            if (!Value.Nulls.get(R))
+            {
+                int G = Groups[R];
+                double D = Value.value(R);
+                Mins[G] = (Counts[G] == 0) ? D : Math.min(Mins[G], D);
+                Maxs[G] = (Counts[G] == 0) ? D : Math.max(Maxs[G], D);
+                Sums[G] += D; Counts[G]++;
+            }
+        Map<DataNote, Stats> Result = new LinkedHashMap<>();
+        for (int G = 0; G < N; G++)
+            Result.put(Key.note(Firsts[G]), new Stats(Counts[G], Sums[G], Mins[G], Maxs[G]));
+        return Result;
+    }
+
+    // ### Rückwandlung ###
+
+    /** 2D-Note wie CSVProcessor.parse (mit Header Table-, sonst Array-Zeilen in voller Breite) */
+    public DataNote toNote()
+    {
+        List<DataNote> Keys = new ArrayList<>(this.Names.size());
+        for (String Name : this.Names) Keys.add(new DataNote(Name));
+        List<DataNote> Lines = new ArrayList<>(this.Rows);
+        for (int R = 0; R < this.Rows; R++)
+            if (this.Headed)
+            {
+                Map<DataNote, DataNote> Tabl = new LinkedHashMap<>();
+                for (int X = 0; X < Keys.size(); X++) Tabl.put(Keys.get(X), this.column(X).note(R));
+                Lines.add(Tabl.isEmpty() ? new DataNote(Collections.emptyMap()) : new DataNote(Tabl));
+            }
+            else
+            {
+                List<DataNote> Arry = new ArrayList<>(Keys.size());
+                for (int X = 0; X < Keys.size(); X++) Arry.add(this.column(X).note(R));
+                Lines.add(new DataNote(Arry));
+            }
+        return new DataNote(Lines);
+    }
+
+    /** Schreibt die Daten als CSV (mit Header-Zeile; fehlende Werte als "null") */
+    public void toCSV(CSVProcessor Proc, Appendable Out) throws IOException
+    {
+        List<DataNote> Lines = new ArrayList<>(this.Rows+1);
+        if (this.Headed)
+        {
+            List<DataNote> Head = new ArrayList<>(this.Names.size());
+            for (String Name : this.Names) Head.add(new DataNote(Name));
+            Lines.add(new DataNote(Head));
+        }
+        for (int R = 0; R < this.Rows; R++)
+        {
+            List<DataNote> Arry = new ArrayList<>(this.Names.size());
+            for (int X = 0; X < this.Names.size(); X++)
+            {
+                String Text = this.column(X).string(R);
+                Arry.add(new DataNote((Text != null) ? Text : NullText));
+            }
+            Lines.add(new DataNote(Arry));
+        }
+        NexusWriter.present(Proc, new DataNote(Lines), Out);
+    }
+    public String toCSV(CSVProcessor Proc)
+    {
+        StringBuilder SB = new StringBuilder();
+        try { this.toCSV(Proc, SB); }
+        catch (IOException Exce) { throw new UncheckedIOException(Exce); }
+        return SB.toString();
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder SB = new StringBuilder("{Rows=").append(this.Rows);
+        for (Column C : this.Columns.values()) SB.append(", ").append(C.Name).append('=').append(C.Type);
+        return SB.append('}').toString();
+    }
+
+    // ### Spalten ###
+
+    /** Typisierte Spalte (Number: long[] bzw. double[], Boole: BitSet, String: Dictionary, Void: nur fehlende Werte) */
+    public static final class Column
+    {
+        private final String Name;
+        private final DataType Type;
+        private final int Rows;
+        private final BitSet Nulls;         // fehlende Werte
+        private final long[] Longs;         // Number (ganzzahlig)
+        private final double[] Numbs;       // Number (sonst)
+        private final BitSet Booles;        // Boole
+        private final int[] Codes;          // String: Index in Texts
+        private final String[] Texts;
+        private DataNote[] Notes = null;    // String-Notes pro Text (bei Bedarf)
+
+        private Column
+        (String Name, DataType Type, int Rows, BitSet Nulls,
+         long[] Longs, double[] Numbs, BitSet Booles, int[] Codes, String[] Texts)
+        {
+            this.Name = Name; this.Type = Type; this.Rows = Rows; this.Nulls = Nulls;
+            this.Longs = Longs; this.Numbs = Numbs; this.Booles = Booles; this.Codes = Codes; this.Texts = Texts;
+        }
+
+        public String name()
+        { return this.Name; }
+        public DataType type()
+        { return this.Type; }
+        public int size()
+        { return this.Rows; }
+
+        /** true für Number-Spalten mit nur ganzzahligen Werten (exakt per integer) */
+        public boolean integral()
+        { return this.Longs != null; }
+
+        // ### Zellen ###
+
+        public boolean isNull(int Row)
+        { return this.Nulls.get(Objects.checkIndex(Row, this.Rows)); }
+
+        /** Zahlenwert (Boole 0/1, fehlend NaN) */
+        public double number(int Row)
+        {
+            this.numeric();
+            return this.Nulls.get(Objects.checkIndex(Row, this.Rows)) ? Double.NaN : this.value(Row);
+        }
+
+        /** Exakter Wert einer ganzzahligen Number-Spalte (fehlend 0) */
+        public long integer(int Row)
+        {
+            if (this.Longs != null) return this.Longs[Objects.checkIndex(Row, this.Rows)];
+            else throw new IllegalStateException("Column "+this.Name+" not integral ("+this.Type+")");
+        }
+
+        /** Wahrheitswert einer Boole-Spalte (fehlend false) */
+        public boolean boole(int Row)
+        {
+            if (this.Type == DataType.Boole) return this.Booles.get(Objects.checkIndex(Row, this.Rows));
+            else throw new IllegalStateException("Column "+this.Name+" not Boole ("+this.Type+")");
+        }
+
+        /** Text der Zelle (Zahlen normalisiert, fehlend null) */
+        public String string(int Row)
+        {
+            if (this.Nulls.get(Objects.checkIndex(Row, this.Rows))) return null;
+            else return switch (this.Type)
+            {
+                case Number -> (this.Longs != null) ? Long.toString(this.Longs[Row]) : text(this.Numbs[Row]);
+                case Boole -> String.valueOf(this.Booles.get(Row));
+                default -> this.Texts[this.Codes[Row]];
+            };
+        }
+
+        /** Zelle als DataNote (fehlend Void) */
+        public DataNote note(int Row)
+        {
+            if (this.Nulls.get(Objects.checkIndex(Row, this.Rows))) return VoidNote;
+            else return switch (this.Type)
+            {
+                case Number -> (this.Longs != null) ? new DataNote(this.Longs[Row]) : new DataNote(this.Numbs[Row]);
+                case Boole -> BooleNotes[this.Booles.get(Row) ? 1 : 0];
+                default ->
+                {
+                    if (this.Notes == null) this.Notes = new DataNote[this.Texts.length];
+                    int Code = this.Codes[Row];
+                    if (this.Notes[Code] == null) this.Notes[Code] = new DataNote(this.Texts[Code]);
+                    yield this.Notes[Code];
+                }
+            };
+        }
+
+        /** Kopie der Zahlenwerte (fehlend NaN) */
+        public double[] numbers()
+        {
+            this.numeric();
+            double[] Arry = new double[this.Rows];
+            for (int R = 0; R < this.Rows; R++) Arry[R] = this.Nulls.get(R) ? Double.NaN : this.value(R);
+            return Arry;
+        }
+
+        // ### Aggregate ###
+
+        /** Anzahl vorhandener Werte (alle Typen) */
+        public long count()
+        { return this.Rows-this.Nulls.cardinality(); }
+
+        public double sum()
+        { return this.stats().Sum(); }
+        public double min()
+        { return this.stats().Min(); }
+        public double max()
+        { return this.stats().Max(); }
+
+        public Stats stats()
+        {
+            this.numeric();
+            long Count = 0;
+            double Sum = 0, Min = Double.NaN, Max = Double.NaN;
+            for (int R = this.Nulls.nextClearBit(0); R < this.Rows; R = this.Nulls.nextClearBit(R+1))
+            {
+                double D = this.value(R);
+                Min = (Count == 0) ? D : Math.min(Min, D);
+                Max = (Count == 0) ? D : Math.max(Max, D);
+                Sum += D; Count++;
+            }
+            return new Stats(Count, Sum, Min, Max);
+        }
+
+        @Override
+        public String toString()
+        { return "{Name="+this.Name+", Type="+this.Type+", Size="+this.Rows+", Count="+this.count()+"}"; }
+
+        // ### Intern ###
+
+        private void numeric()
+        {
+            if (this.Type != DataType.Number && this.Type != DataType.Boole)
+                throw new IllegalStateException("Column "+this.Name+" not numeric ("+this.Type+")");
+        }
+
+        // Zahlenwert einer vorhandenen Zelle (numerische Spalte)
+        private double value(int Row)
+        {
+            return (this.Longs != null) ? this.Longs[Row] : (this.Numbs != null) ? this.Numbs[Row]
+                   : this.Booles.get(Row) ? 1 : 0;
+        }
+
+        // Gruppenindex pro Zeile (nach erstem Auftreten); liefert die erste Zeile jeder Gruppe
+        private int[] groups(int[] Groups)
+        {
+            int N = 0;
+            int[] Firsts = new int[Math.min(this.Rows, 16)];
+            Map<Long, Integer> Index = (this.Type == DataType.Number) ? new HashMap<>() : null;
+            int[] Table = new int[((this.Texts != null) ? this.Texts.length : 2)+1];     // letzter Slot: fehlend
+            Arrays.fill(Table, -1);
+            for (int R = 0; R < this.Rows; R++)
+            {
+                int G;
+                if (Index != null && !this.Nulls.get(R))
+                {
+                    long Key = (this.Longs != null) ? this.Longs[R] : Double.doubleToLongBits(this.Numbs[R]);
+                    Integer I = Index.putIfAbsent(Key, N);
+                    G = (I != null) ? I : N;
+                }
+                else
+                {
+                    int Slot = this.Nulls.get(R) ? Table.length-1
+                             : (this.Type == DataType.Boole) ? (this.Booles.get(R) ? 1 : 0)
+                             : (this.Type == DataType.String) ? this.Codes[R] : 0;
+                    if (Table[Slot] < 0) Table[Slot] = N;
+                    G = Table[Slot];
+                }
+                if (G == N)
+                {
+                    if (N == Firsts.length) Firsts = Arrays.copyOf(Firsts, 2*N);
+                    Firsts[N++] = R;
+                }
+                Groups[R] = G;
+            }
+            return Arrays.copyOf(Firsts, N);
+        }
+
+        // Zahl als Text: ganzzahlige Werte ohne Nachkommastellen
+        static private String text(double Value)
+        {
+            return (Value == Math.rint(Value) && Math.abs(Value) < 0x1p63)
+                   ? Long.toString((long)Value) : Double.toString(Value);
+        }
+    }
+
+    // ### Ingestion ###
+
+    // Sammelt eine Spalte dictionary-kodiert (jeder verschiedene Text einmal typisiert)
+    static private final class Ingest
+    {
+        private final String Name;
+        private final Map<String, Integer> Plain = new HashMap<>(), Quoted = new HashMap<>();
+        private final List<String> Texts = new ArrayList<>();
+        private final List<DataType> Types = new ArrayList<>();
+        private int[] Codes;                // -1: fehlender Wert
+        private int Size;
+        private boolean Numb = false, Bool = false, Strg = false;   // vorkommende Typen
+
+        Ingest(String Name, int Missing)
+        {
+            this.Name = Name;
+            this.Codes = new int[Math.max(Missing, 16)];
+            Arrays.fill(this.Codes, 0, Missing, -1);
+            this.Size = Missing;
+        }
+
+        void add(String Text, boolean Quote, boolean Xtra)
+        {
+            Integer Code = (Quote ? this.Quoted : this.Plain).get(Text);
+            if (Code == null)
+            {
+                DataType Type = Quote ? DataType.String : CSVTypes.classify(Text, Xtra);
+                if (Type == DataType.String && !Quote && Text.isBlank()) Type = DataType.Void;
+                if (Type == DataType.Void) Code = -1;
+                else
+                {
+                    Code = this.Texts.size();
+                    this.Texts.add(Text); this.Types.add(Type);
+                    if (Type == DataType.Number) this.Numb = true;
+                    else if (Type == DataType.Boole) this.Bool = true;
+                    else this.Strg = true;
+                }
+                (Quote ? this.Quoted : this.Plain).put(Text, Code);
+            }
+            this.code(Code);
+        }
+
+        void skip()
+        { this.code(-1); }
+
+        private void code(int Code)
+        {
+            if (this.Size == this.Codes.length) this.Codes = Arrays.copyOf(this.Codes, 2*this.Size);
+            this.Codes[this.Size++] = Code;
+        }
+
+        // Endgültige Spalte (Typ aus den vorkommenden Typen)
+        Column column(int Rows)
+        {
+            while (this.Size < Rows) this.skip();
+            BitSet Nulls = new BitSet(Rows);
+            for (int R = 0; R < Rows; R++) if (this.Codes[R] < 0) Nulls.set(R);
+            DataType Type = (this.Strg || this.Numb && this.Bool) ? DataType.String
+                          : this.Numb ? DataType.Number : this.Bool ? DataType.Boole : DataType.Void;
+            switch (Type)
+            {
+                case Number ->
+                {
+                    long[] Wholes = this.wholes();
+                    if (Wholes != null)         // alle Werte ganzzahlig: exakt als long
+                    {
+                        long[] Longs = new long[Rows];
+                        for (int R = 0; R < Rows; R++) Longs[R] = (this.Codes[R] < 0) ? 0 : Wholes[this.Codes[R]];
+                        return new Column(this.Name, Type, Rows, Nulls, Longs, null, null, null, null);
+                    }
+                    double[] Values = new double[this.Texts.size()];
+                    for (int X = 0; X < Values.length; X++)
+                        Values[X] = NexusNumbers.parseDouble(this.Texts.get(X).strip());
+                    double[] Numbs = new double[Rows];
+                    for (int R = 0; R < Rows; R++) Numbs[R] = (this.Codes[R] < 0) ? Double.NaN : Values[this.Codes[R]];
+                    return new Column(this.Name, Type, Rows, Nulls, null, Numbs, null, null, null);
+                }
+                case Boole ->
+                {
+                    BitSet Booles = new BitSet(Rows);
+                    for (int R = 0; R < Rows; R++)
+                        if (this.Codes[R] >= 0 && this.Texts.get(this.Codes[R]).strip().equals("true")) Booles.set(R);
+                    return new Column(this.Name, Type, Rows, Nulls, null, null, Booles, null, null);
+                }
+                case String ->
+                {
+                    Map<String, Integer> Dict = new LinkedHashMap<>();     // gleiche Texte (quotiert/unquotiert) vereinen
+                    int[] Remap = new int[this.Texts.size()];
+                    for (int X = 0; X < Remap.length; X++)
+                    {
+                        Integer C = Dict.putIfAbsent(this.Texts.get(X), Dict.size());
+                        Remap[X] = (C != null) ? C : Dict.size()-1;
+                    }
+                    int[] Codes = new int[Rows];
+                    for (int R = 0; R < Rows; R++) Codes[R] = (this.Codes[R] < 0) ? 0 : Remap[this.Codes[R]];
+                    return new Column(this.Name, Type, Rows, Nulls, null, null, null, Codes, Dict.keySet().toArray(new String[0]));
+                }
+                default -> { return new Column(this.Name, Type, Rows, Nulls, null, null, null, null, null); }
+            }
+        }
+
+        // Ganzzahlige Werte aller Zahl-Texte (null, wenn einer nicht ganzzahlig oder außerhalb long ist)
+        private long[] wholes()
+        {
+            long[] Wholes = new long[this.Texts.size()];
+            for (int X = 0; X < Wholes.length; X++)
+            {
+                String Text = this.Texts.get(X).strip();
+                Wholes[X] = NexusNumbers.parseWhole(Text, 0);
+                if (Wholes[X] != NexusNumbers.parseWhole(Text, 1)) return null;     // Default: kein long
+            }
+            return Wholes;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static lingolava.Nexus.*;
+import static lingolava.Nexus.DataNote.*;
+
+/*
+Sammelt Pfad-Änderungen an einer (unveränderlichen) DataNote und wendet sie gemeinsam an:
+
+* DataNote.at(Keys, Val) kopiert pro Aufruf auf jeder Pfadebene die komplette
+  Table/Array-Struktur und berechnet deren Hash neu, d.h. n Änderungen an
+  einer großen Table kosten n vollständige Kopien
+* DataPatch merkt sich die Änderungen als Pfad-Baum und baut in 'apply' nur
+  die betroffenen Knoten neu auf (jeden genau einmal, unabhängig von der
+  Anzahl der Änderungen darunter); unveränderte Teilbäume werden geteilt
+* Semantik wie nacheinander ausgeführte at(Keys, Val)-Aufrufe: nur
+  vorhandene Keys/Indizes, spätere Änderungen überschreiben frühere
+  (auch tiefere); ungültige Änderungen werden erst in 'apply' als
+  DataException von DataNote.at gemeldet (sofern nicht überschrieben)
+
+Beispiel:
+    DataNote DN = new DataPatch(Note).at(List.of("Complex", 'T', 0), 1).at(List.of("Name"), "X").apply();
+*/
+public final class DataPatch
+{
+    // Knoten des Pfad-Baums: ggf. neuer Wert und Änderungen darunter
+    static private final class Step
+    {
+        final Object Raw;                   // ursprünglicher Key (für Exceptions)
+        DataNote Value = null;              // null: bisheriger Wert
+        final Map<DataNote, Step> Steps = new LinkedHashMap<>();
+        Step(Object Raw)
+        { this.Raw = Raw; }
+    }
+
+    private final DataNote Root;
+    private final Step Tree = new Step(null);
+
+    public DataPatch(DataNote Root)
+    {
+        if (Root != null) this.Root = Root;
+        else throw new NullPointerException("Nulled data");
+    }
+
+    /** Merkt eine Änderung analog DataNote.at(Keys, Val) vor */
+    public DataPatch at(List<?> Keys, Object Val)
+    {
+        if (Keys != null)
+        {
+            if (Keys.isEmpty()) this.Root.at(Keys, Val);  // Exception wie DataNote.at
+            Step S = this.Tree;
+            for (Object Key : Keys)
+                S = S.Steps.computeIfAbsent(note(Key), K -> new Step(Key));
+            S.Value = note(Val);
+            S.Steps.clear();                // frühere tiefere Änderungen überschrieben
+            return this;
+        }
+        else throw new NullPointerException("Nulled keys");
+    }
+
+    /** Erzeugt die geänderte DataNote (die ursprüngliche bleibt unverändert) */
+    public DataNote apply()
+    { return apply(this.Root, this.Tree); }
+
+    static private DataNote apply(DataNote Note, Step S)
+    {
+        if (S.Value != null) Note = S.Value;
+        if (S.Steps.isEmpty()) return Note;
+        else if (Note.retType() == DataType.Table)
+        {
+            Map<DataNote, DataNote> Tabl = Note.asMap(Function.identity(), Function.identity());
+            for (Map.Entry<DataNote, Step> E : S.Steps.entrySet())
+            {
+                DataNote Item = Tabl.get(E.getKey());
+                if (Item == null) raise(Note, E.getValue());
+                Tabl.put(E.getKey(), apply(Item, E.getValue()));
+            }
+            return new DataNote(Tabl);
+        }
+        else if (Note.retType() == DataType.Array)
+        {
+            List<DataNote> Arry = new ArrayList<>(Note.asList(Function.identity()));
+            for (Map.Entry<DataNote, Step> E : S.Steps.entrySet())
+            {
+                int X = index(E.getKey(), Arry.size());
+                if (X < 0) raise(Note, E.getValue());
+                Arry.set(X, apply(Arry.get(X), E.getValue()));
+            }
+            return new DataNote(Arry);
+        }
+        else { raise(Note, S.Steps.values().iterator().next()); return null; }
+    }
+
+    // Array-Index eines Keys (-1 wenn kein gültiger Index wie bei DataNote.at)
+    static private int index(DataNote Key, int Size)
+    {
+        if (Key.retType() == DataType.Number)
+        {
+            Number N = Key.asNumber(null);
+            if (N != null && N.doubleValue() >= 0 && N.doubleValue() < Size)
+            {
+                int X = N.intValue();
+                if (Key.equals(new DataNote(X))) return X;
+            }
+        }
+        return -1;
+    }
+
+    static private DataNote note(Object Obj)
+    {
+        if (Obj instanceof DataNote Note) return Note;
+        else return (Obj != null) ? new DataNote(Obj) : new DataNote();
+    }
+
+    // Erzeugt die Exception von DataNote.at für einen ungültigen Schritt
+    static private void raise(DataNote Note, Step S)
+    {
+        List<Object> Keys = new ArrayList<>();      // Pfad bis zur ersten Änderung darunter
+        for (Keys.add(S.Raw); S.Value == null; Keys.add(S.Raw)) S = S.Steps.values().iterator().next();
+        Note.at(Keys, S.Value);
+        throw new IllegalStateException("Inconsistent patch at key "+S.Raw);
+    }
+}
@@ -0,0 +1,347 @@
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static lingolava.Nexus.*;
+import static lingolava.Nexus.DataNote.*;
+
+/*
+Kompilierte Pfad-Selektoren (Queries) für DataNotes und streamende Eingaben:
+
+* DataNote.at(List<?> Keys) erzeugt je Aufruf und Ebene neue Key-Notes und
+  benötigt den vollständig geparsten Datenbaum
+* DataPath wird einmalig kompiliert (Key-Notes vorab erzeugt) und liefert
+  alle selektierten Daten aus einer DataNote oder direkt aus dem Text per
+  Processor (über NexusEvents) bzw. CSVProcessor (über CSVReader); nicht
+  selektierte Teilbäume bzw. CSV-Zeilen werden dabei roh überlesen, d.h.
+  weder geparst noch als DataNote erzeugt
+* Syntax: Name bzw. .Name (String-Key), [Datum] (JEXIS-Simplex als Key bzw.
+  Array-Index, z.B. ["A.B"], ['T'], [Label], [0]), * bzw. [*] (alle Werte),
+  [Von:Bis] (Array-Slice, Grenzen optional, Bis exklusiv; nur Arrays, d.h.
+  [:] ist keine Wildcard für Tables/Options)
+* Semantik: Table-Keys per equals, Array-Indizes wie DataNote.at (nur
+  ganzzahlige Number-Keys), Option-Elemente per Key (Wert Void) bzw. per
+  Wildcard (die Elemente selbst); fehlende Keys werden ohne Exception
+  übergangen (Zugriff per DataNote.at, die Key-Menge wird nur bei fehlenden
+  Keys geprüft); doppelte Keys werden beim Streamen nicht erkannt
+* CSV: erste Pfadebene sind die Zeilen (Index/Slice/Wildcard), danach Felder
+  (Array-Zeilen per Index, Table-Zeilen per Header-Key)
+
+Beispiel:
+    DataPath DP = DataPath.compile("Complex['T'][*]");
+    List<DataNote> Notes = DP.select(new JEXISProcessor(), Jexis);
+*/
+public final class DataPath
+{
+    /** Wildcard für 'of' (alle Werte einer Ebene) */
+    public static final Object Any = new Object();
+
+    // Pfadebene: Key (mit Array-Index oder -1), Slice [From, To) ohne Key (nur Arrays) oder Wildcard
+    private record Step(DataNote Key, int Index, int From, int To, boolean Any)
+    {
+        boolean isAny()
+        { return this.Any; }
+        boolean hasIndex(int X)
+        { return (this.Key != null) ? this.Index == X : this.From <= X && X < this.To; }
+        boolean beyond(int X)           // kein Array-Index ab X mehr selektierbar
+        { return (this.Key != null) ? this.Index < X : this.To <= X; }
+    }
+
+    static private final Step AnyStep = new Step(null, -1, 0, Integer.MAX_VALUE, true);
+    static private final DataNote VoidNote = new DataNote();
+    static private final JEXISProcessor KeyProc = new JEXISProcessor();    // Keys in [...]
+
+    private final Step[] Steps;
+
+    private DataPath(List<Step> Steps)
+    { this.Steps = Steps.toArray(new Step[0]); }
+
+    // ### Kompilierung ###
+
+    /** Kompiliert einen Pfad wie "Complex['T'][*]" bzw. "Rows[2:].Name" */
+    public static DataPath compile(CharSequence Path)
+    {
+        String S = Path.toString();
+        List<Step> Steps = new ArrayList<>();
+        int X = 0;
+        while (X < S.length())
+        {
+            char C = S.charAt(X);
+            if (C == '[')
+            {
+                int Y = close(S, X+1);
+                Steps.add(bracket(S.substring(X+1, Y).strip(), S, X));
+                X = Y+1;
+            }
+            else
+            {
+                if (C == '.')
+                    if (X+1 < S.length() && S.charAt(X+1) != '.' && S.charAt(X+1) != '[') X++;
+                    else throw invalid(S, X, "name expected");
+                int Y = X;
+                while (Y < S.length() && S.charAt(Y) != '.' && S.charAt(Y) != '[') Y++;
+                String Name = S.substring(X, Y);
+                if (Name.isEmpty()) throw invalid(S, X, "name expected");
+                Steps.add(Name.equals("*") ? AnyStep : step(new DataNote(Name)));
+                X = Y;
+            }
+        }
+        return new DataPath(Steps);
+    }
+
+    /** Pfad aus Keys (Objekte bzw. DataNotes wie bei DataNote.at, DataPath.Any als Wildcard) */
+    public static DataPath of(Object... Keys)
+    {
+        List<Step> Steps = new ArrayList<>(Keys.length);
+        for (Object Key : Keys)
+            Steps.add((Key == Any) ? AnyStep
+                      : step((Key instanceof DataNote DN) ? DN : (Key != null) ? new DataNote(Key) : VoidNote));
+        return new DataPath(Steps);
+    }
+
+    // Position der schließenden Klammer (Quotes im Datum überlesen)
+    static private int close(String S, int X)
+    {
+        int Quote = 0;
+        for (; X < S.length(); X++)
+        {
+            char C = S.charAt(X);
+            if (Quote != 0)
+            {
+                if (C == '\\') X++;
+                else if (C == Quote) Quote = 0;
+            }
+            else if (C == '"' || C == '\'') Quote = C;
+            else if (C == ']') return X;
+        }
+        throw invalid(S, S.length(), "']' expected");
+    }
+
+    // Ebene zum Klammerinhalt: Wildcard, Slice oder Key (JEXIS-Simplex)
+    static private Step bracket(String Part, String S, int X)
+    {
+        if (Part.equals("*")) return AnyStep;
+        int Y = Part.indexOf(':');
+        if (Y >= 0 && Part.matches("\\d*\\s*:\\s*\\d*"))
+        {
+            String From = Part.substring(0, Y).strip(), To = Part.substring(Y+1).strip();
+            try
+            {
+                return new Step(null, -1, From.isEmpty() ? 0 : Integer.parseInt(From),
+                                To.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(To), false);
+            }
+            catch (NumberFormatException Exce) { throw invalid(S, X, "slice bound too large"); }
+        }
+        DataNote Key;
+        try { Key = KeyProc.parse(Part); }
+        catch (RuntimeException Exce) { throw invalid(S, X, Exce.getMessage()); }
+        if (Key.isSimplex()) return step(Key);
+        else throw invalid(S, X, "simplex key expected");
+    }
+
+    // Key-Ebene mit vorab bestimmtem Array-Index (wie DataNote.at: nur ganzzahlige Numbers)
+    static private Step step(DataNote Key)
+    {
+        int Index = -1;
+        if (Key.retType() == DataType.Number)
+        {
+            Number N = Key.asNumber(null);
+            if (N != null && N.doubleValue() >= 0 && N.doubleValue() <= Integer.MAX_VALUE
+                && Key.equals(new DataNote(N.intValue())))
+                Index = N.intValue();
+        }
+        return new Step(Key, Index, -1, -1, false);
+    }
+
+    static private IllegalArgumentException invalid(String S, int X, String Info)
+    { return new IllegalArgumentException("Invalid path at/around index "+X+" ("+Info+"): "+S); }
+
+    // ### Selektion aus DataNotes ###
+
+    public List<DataNote> select(DataNote Note)
+    {
+        List<DataNote> Notes = new ArrayList<>();
+        this.select(Note, Notes::add);
+        return Notes;
+    }
+    public void select(DataNote Note, Consumer<? super DataNote> Out)
+    { this.select(Note, 0, Out); }
+
+    /** Erstes selektiertes Datum (null wenn keins) */
+    public DataNote first(DataNote Note)
+    {
+        List<DataNote> Notes = this.select(Note);
+        return Notes.isEmpty() ? null : Notes.get(0);
+    }
+
+    private void select(DataNote Note, int D, Consumer<? super DataNote> Out)
+    {
+        if (D == this.Steps.length) { Out.accept(Note); return; }
+        Step S = this.Steps[D];
+        if (Note.isSimplex()) return;               // keine weiteren Ebenen
+        else if (S.Key() != null)                   // direkter Zugriff (vorab erzeugte Key-Note)
+        {
+            DataNote Item = (Note.retType() != DataType.Array || S.Index() >= 0 && S.Index() < Note.extent())
+                            ? at(Note, S.Key()) : null;
+            if (Item != null) this.select(Item, D+1, Out);
+        }
+        else if (Note.retType() == DataType.Array)
+        {
+            List<DataNote> Arry = Note.asList(Function.identity());
+            for (int X = S.From(); X < Arry.size() && X < S.To(); X++) this.select(Arry.get(X), D+1, Out);
+        }
+        else if (S.isAny())                         // Table: Werte, Option: Elemente
+        {
+            Collection<DataNote> Items = (Note.retType() == DataType.Table)
+                                         ? Note.asList(Function.identity())
+                                         : Note.asMap(Function.identity(), Function.identity()).keySet();
+            for (DataNote Item : Items) this.select(Item, D+1, Out);
+        }
+    }
+
+    // Wert zu einem Key per DataNote.at (Option: Void); null für fehlende Keys (die LingoLibry bietet
+    // keine Abfrage ohne Exception: nur dann wird die Key-Menge geprüft, andere Fehler bleiben)
+    static private DataNote at(DataNote Note, DataNote Key)
+    {
+        if (Note.isEmpty()) return null;
+        try { return Note.at(Key); }
+        catch (RuntimeException Exce)
+        {
+            if (Note.retType() != DataType.Array && !Note.asSet(Function.identity()).contains(Key)) return null;
+            else throw Exce;
+        }
+    }
+
+    // ### Selektion beim Streamen (JSON/JEXIS) ###
+
+    public List<DataNote> select(Processor Proc, CharSequence Chars)
+    {
+        List<DataNote> Notes = new ArrayList<>();
+        this.select(Proc, new StringReader(Chars.toString()), Notes::add);
+        return Notes;
+    }
+
+    /** Selektiert direkt aus dem Text (ohne kompletten Datenbaum) */
+    public void select(Processor Proc, Reader Input, Consumer<? super DataNote> Out)
+    {
+        if (Proc instanceof CSVProcessor CP) { this.select(CP, Input, null, Out); return; }
+        NexusEvents Events = NexusEvents.events(Proc, Input);
+        NexusEvents.Event Root = (this.Steps.length > 0) ? Events.next() : null;
+        if (Root == null) Out.accept(collect(Events, Events.next()));
+        else if (Root.isStart()) this.select(Events, Root, 0, Out);
+        Events.hasNext();           // prüft restliche Eingabe
+    }
+
+    // Selektiert in einem komplexen Datum (nach dessen START-Ereignis) auf Ebene D
+    private void select(NexusEvents Events, NexusEvents.Event Start, int D, Consumer<? super DataNote> Out)
+    {
+        Step S = this.Steps[D];
+        int X = 0;
+        while (true)
+        {
+            NexusEvents.Event E;
+            switch (Start.Type())
+            {
+                case Table ->
+                {
+                    if ((E = Events.next()).isEnd()) return;
+                    DataNote Key = E.isStart() ? collect(Events, E) : E.Note();
+                    if (S.isAny() || Key.equals(S.Key())) this.value(Events, Events.next(), D, Out);
+                    else Events.pass();
+                }
+                case Array ->
+                {
+                    boolean Hit = S.hasIndex(X++);
+                    if ((E = Hit ? Events.next() : Events.pass()).isEnd()) return;
+                    if (Hit) this.value(Events, E, D, Out);
+                }
+                default ->              // Option: Elemente sind Keys (ggf. komplex)
+                {
+                    if ((E = Events.next()).isEnd()) return;
+                    DataNote Item = E.isStart() ? collect(Events, E) : E.Note();
+                    if (S.isAny()) this.select(Item, D+1, Out);
+                    else if (Item.equals(S.Key())) this.select(VoidNote, D+1, Out);
+                }
+            }
+        }
+    }
+
+    // Verarbeitet ein selektiertes Datum (Ereignis E) auf Ebene D
+    private void value(NexusEvents Events, NexusEvents.Event E, int D, Consumer<? super DataNote> Out)
+    {
+        if (D+1 == this.Steps.length) Out.accept(collect(Events, E));
+        else if (E.isStart()) this.select(Events, E, D+1, Out);
+    }
+
+    // Erzeugt die DataNote zu einem Ereignis (komplex: bis zum zugehörigen END)
+    static private DataNote collect(NexusEvents Events, NexusEvents.Event E)
+    {
+        if (!E.isStart()) return E.Note();
+        switch (E.Type())
+        {
+            case Table ->
+            {
+                Map<DataNote, DataNote> Tabl = new LinkedHashMap<>();
+                while (!(E = Events.next()).isEnd())
+                    Tabl.put(collect(Events, E), collect(Events, Events.next()));
+                return new DataNote(Tabl);
+            }
+            case Array ->
+            {
+                List<DataNote> Arry = new ArrayList<>();
+                while (!(E = Events.next()).isEnd()) Arry.add(collect(Events, E));
+                return new DataNote(Arry);
+            }
+            default ->
+            {
+                Map<DataNote, DataNote> Optn = new LinkedHashMap<>();
+                while (!(E = Events.next()).isEnd()) Optn.put(collect(Events, E), VoidNote);
+                return new DataNote(Optn.keySet());
+            }
+        }
+    }
+
+    // ### Selektion beim Streamen (CSV) ###
+
+    public List<DataNote> select(CSVProcessor Proc, CharSequence Chars, CharSequence Header)
+    {
+        List<DataNote> Notes = new ArrayList<>();
+        this.select(Proc, new StringReader(Chars.toString()), Header, Notes::add);
+        return Notes;
+    }
+
+    /** Selektiert zeilenweise (nicht selektierte Zeilen werden nicht geparst) */
+    public void select(CSVProcessor Proc, Reader Input, CharSequence Header, Consumer<? super DataNote> Out)
+    {
+        CSVReader Rows = new CSVReader(Proc, Input, Header);
+        String Text;
+        if (this.Steps.length == 0)
+        {
+            List<DataNote> Lines = new ArrayList<>();
+            while ((Text = Rows.nextText()) != null) Lines.add(Rows.line(Text));
+            Out.accept(Rows.data(Lines));
+        }
+        else
+            for (int X = 0; !this.Steps[0].beyond(X) && (Text = Rows.nextText()) != null; X++)
+                if (this.Steps[0].hasIndex(X)) this.select(Rows.line(Text), 1, Out);
+    }
+
+    /** Pfad in kanonischer Form (wieder kompilierbar), z.B. ["Complex"]['T'][*] */
+    @Override
+    public String toString()
+    {
+        StringBuilder SB = new StringBuilder();
+        for (Step S : this.Steps)
+            if (S.isAny()) SB.append("[*]");
+            else if (S.Key() != null) SB.append('[').append(S.Key().asJEXIS()).append(']');
+            else SB.append('[').append(S.From()).append(':')
+                   .append((S.To() < Integer.MAX_VALUE) ? String.valueOf(S.To()) : "").append(']');
+        return SB.toString();
+    }
+}
@@ -0,0 +1,406 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static lingolava.Nexus.*;
+import static lingolava.Nexus.DataNote.*;
+
+/*
+Lazy Parsing von JSON/JEXIS-Daten über einen Strukturindex ("Tape"):
+
+* Processor.parse erzeugt, transformiert und poolt immer alle (verschachtelten)
+  DataNotes, auch wenn danach nur wenige Werte per at(...) gelesen werden
+* LazyNote.parse ermittelt dagegen in einem schnellen Durchlauf nur die
+  Struktur (Beginn/Ende jedes Datums in einem int[]-Tape, Marks wie bei
+  NexusEvents über den Processor) und liefert eine Sicht auf die Daten
+* erst at/asList/asMap/note erzeugen DataNotes, und zwar nur für die
+  berührten Teile (Table-Keys je Table einmalig, Werte einzeln per
+  Processor.parse des jeweiligen Teiltexts); note() ist gleich (equals)
+  der DataNote von Processor.parse; Table-Keys werden dabei wie vom
+  Processor auf ihren Typ geprüft (z.B. JSON: nur Strings)
+* Strukturfehler werden sofort als ProcessorException gemeldet, Fehler in
+  nicht berührten simplexen Daten (oder doppelte Keys) erst bei Zugriff
+  bzw. auf Anforderung per validate() (komplettes Parsing); Fehler-Indizes
+  beziehen sich stets auf das gesamte Dokument
+* Rückgaben wie bei DataNote (Exceptions für fehlende Keys per DataNote.at,
+  asList/asMap null für simplexe Daten); Parsing ohne Transformation
+  (IdentTrans), nicht thread-sicher
+
+Beispiel:
+    LazyNote LN = LazyNote.parse(new JSONProcessor(), Json);
+    DataNote DN = LN.at(List.of("Complex", "A", 0)).note();
+*/
+public final class LazyNote
+{
+    // Gemeinsamer Zustand eines Dokuments: Text, Tape und bereits erzeugte Notes
+    static private final class Tape
+    {
+        final Processor Proc;
+        final NexusMarks Marks;
+        final String Text;
+        int[] Units = new int[3*64];    // je Datum: Beginn, Ende, nächstes Datum (nach Teilbaum)
+        int Size = 0;                   // Anzahl der Daten
+        final Map<Integer, DataNote> Notes = new HashMap<>();
+        final Map<Integer, int[]> Items = new HashMap<>();
+        final Map<Integer, Map<DataNote, Integer>> Keys = new HashMap<>();
+        final Set<DataType> KeyTypes = EnumSet.noneOf(DataType.class);     // vom Processor akzeptierte Key-Typen
+
+        Tape(Processor Proc, String Text)
+        { this.Proc = Proc; this.Marks = new NexusMarks(Proc); this.Text = Text; }
+
+        int add(int Begin)
+        {
+            if (3*this.Size == this.Units.length) this.Units = Arrays.copyOf(this.Units, 2*this.Units.length);
+            this.Units[3*this.Size] = Begin;
+            return this.Size++;
+        }
+
+        String text(int U)
+        { return this.Text.substring(this.Units[3*U], this.Units[3*U+1]); }
+
+        // Parst den Teiltext eines Datums; im Fehlerfall erneut per Whitespace an seine Position
+        // im Dokument gerückt (Exception des Processors mit Index bezogen auf das Dokument)
+        DataNote parse(int U)
+        {
+            String Sub = this.text(U);
+            try { return this.Proc.parse(Sub); }
+            catch (RuntimeException Exce)
+            {
+                int Begin = this.Units[3*U];
+                if (Begin > 0 && this.Marks.isWhisp(' '))
+                    this.Proc.parse(" ".repeat(this.Text.codePointCount(0, Begin))+Sub);
+                throw Exce;
+            }
+        }
+
+        // Prüft den Typ eines Table-Keys wie der Processor (z.B. JSON: nur Strings), einmal pro Typ
+        // per Probe-Table mit dem Key (wie NexusEvents); wirft ggf. dessen Exception
+        void keyed(DataNote Key, int U)
+        {
+            DataType Type = Key.retType();
+            if (!this.KeyTypes.contains(Type))
+            {
+                String Raw = this.text(U);
+                this.Proc.parse(Character.toString(this.Marks.TablMark1)+Raw+Character.toString(this.Marks.AssoMark)+
+                                Raw+Character.toString(this.Marks.TablMark2));
+                this.KeyTypes.add(Type);
+            }
+        }
+    }
+
+    private final Tape Tape;
+    private final int Unit;             // Datum im Tape (-1 für eine fertige Note)
+    private final DataNote Note;        // fertige Note (sonst null)
+
+    private LazyNote(Tape Tape, int Unit, DataNote Note)
+    { this.Tape = Tape; this.Unit = Unit; this.Note = Note; }
+
+    // ### Parsing ###
+
+    /** Erzeugt den Strukturindex (JSON/JEXIS-Processor, kein CSV) */
+    public static LazyNote parse(Processor Proc, CharSequence Chars)
+    {
+        if (Proc != null && Chars != null)
+        {
+            if (Proc instanceof CSVProcessor)
+                throw new IllegalArgumentException("JSON/JEXIS processor expected");
+            Tape T = new Tape(Proc, Chars.toString());
+            if (scan(T)) return new LazyNote(T, 0, null);
+            else            // Processor-Exception bzw. vom Scan abweichende Syntax
+                return new LazyNote(T, -1, Proc.parse(T.Text));
+        }
+        else throw new NullPointerException("Processor or data null");
+    }
+
+    /** Parst das komplette Dokument (Meldung aller Syntaxfehler, auch nicht berührter) */
+    public LazyNote validate()
+    {
+        if (this.Tape.Notes.get(0) == null)
+            this.Tape.Notes.put(0, this.Tape.Proc.parse(this.Tape.Text));
+        return this;
+    }
+
+    // Zustände innerhalb eines komplexen Datums (wie NexusEvents) und komplexe Typen
+    static private final int Open = 0, Asso = 1, Value = 2, Next = 3;
+    static private final int TablType = 0, ArryType = 1, OptnType = 2;
+
+    // Ermittelt die Struktur in einem Durchlauf (false bei Syntaxfehler)
+    static private boolean scan(Tape T)
+    {
+        NexusMarks M = T.Marks;
+        String S = T.Text;
+        Deque<int[]> Stack = new ArrayDeque<>();    // je Frame: Datum, Schlussklammer, Typ, Zustand
+        boolean Root = false;
+        int X = 0;
+        while (true)
+        {
+            if ((X = skip(T, X)) < 0) return false;
+            int[] F = Stack.peek();
+            if (F == null && Root) return X == S.length();
+            int Code = (X < S.length()) ? S.codePointAt(X) : -1;
+            if (F != null)
+                if (F[3] == Open && Code == F[1] || F[3] == Next && Code == F[1])
+                {
+                    X += Character.charCount(Code);
+                    Stack.pop();
+                    T.Units[3*F[0]+1] = X;
+                    T.Units[3*F[0]+2] = T.Size;
+                    Root = Stack.isEmpty();
+                    continue;
+                }
+                else if (F[3] == Asso)
+                    if (Code == M.AssoMark) { X += Character.charCount(Code); F[3] = Value; continue; }
+                    else return false;
+                else if (F[3] == Next)
+                    if (Code == M.SeprMark) { X += Character.charCount(Code); F[3] = Open; continue; }
+                    else return false;
+                else F[3] = (F[3] == Open && F[2] == TablType) ? Asso : Next;
+
+            // Datum: komplex (öffnende Klammer) oder simplex (Token)
+            int Type = (!NexusMarks.isMark(Code)) ? -1 :
+                       (Code == M.TablMark1) ? TablType : (Code == M.ArryMark1) ? ArryType :
+                       (Code == M.OptnMark1) ? OptnType : -1;
+            int U = T.add(X);
+            if (Type >= 0)
+            {
+                int Close = (Type == TablType) ? M.TablMark2 : (Type == ArryType) ? M.ArryMark2 : M.OptnMark2;
+                Stack.push(new int[] {U, Close, Type, Open});
+                X += Character.charCount(Code);
+            }
+            else
+            {
+                int E = token(T, X);
+                if (E <= X) return false;
+                T.Units[3*U+1] = E;
+                T.Units[3*U+2] = U+1;
+                X = E;
+                Root = Stack.isEmpty();
+            }
+        }
+    }
+
+    // Ende eines simplexen Tokens (quotiert oder bis zum nächsten Trenner; -1 bei Fehler)
+    static private int token(Tape T, int X)
+    {
+        NexusMarks M = T.Marks;
+        String S = T.Text;
+        int Code = (X < S.length()) ? S.codePointAt(X) : -1;
+        if (Code < 0) return -1;
+        else if (NexusMarks.isMark(Code) && (Code == M.StriMark || Code == M.CharMark || Code == M.CommMark))
+        {
+            int Quote = Code;
+            X += Character.charCount(Code);
+            while (X < S.length())
+            {
+                Code = S.codePointAt(X);
+                X += Character.charCount(Code);
+                if (Code == M.EscpMark && NexusMarks.isMark(Code))
+                { if (X < S.length()) X += Character.charCount(S.codePointAt(X)); }
+                else if (Code == Quote)
+                    if (X < S.length() && S.codePointAt(X) == Quote) X += Character.charCount(Quote);
+                    else return X;
+            }
+            return -1;
+        }
+        else
+        {
+            while (X < S.length() && !M.delimits(Code = S.codePointAt(X))) X += Character.charCount(Code);
+            return X;
+        }
+    }
+
+    // Überliest Whitespace und Kommentare (-1 bei offenem Kommentar)
+    static private int skip(Tape T, int X)
+    {
+        NexusMarks M = T.Marks;
+        String S = T.Text;
+        while (X >= 0 && X < S.length())
+        {
+            int Code = S.codePointAt(X);
+            if (M.isWhisp(Code)) X += Character.charCount(Code);
+            else if (Code == M.CommMark && NexusMarks.isMark(Code)) X = token(T, X);
+            else break;
+        }
+        return X;
+    }
+
+    // ### Zugriffe ###
+
+    /** Erzeugt (einmalig) die DataNote dieses Datums */
+    public DataNote note()
+    {
+        if (this.Note != null) return this.Note;
+        else
+        {
+            DataNote N = this.Tape.Notes.get(this.Unit);
+            if (N == null)
+            {
+                N = this.Tape.parse(this.Unit);
+                this.Tape.Notes.put(this.Unit, N);
+            }
+            return N;
+        }
+    }
+
+    public DataType retType()
+    {
+        if (this.Note == null)
+        {
+            int Code = this.Tape.Text.codePointAt(this.Tape.Units[3*this.Unit]);
+            NexusMarks M = this.Tape.Marks;
+            if (NexusMarks.isMark(Code))
+                if (Code == M.TablMark1) return DataType.Table;
+                else if (Code == M.ArryMark1) return DataType.Array;
+                else if (Code == M.OptnMark1) return DataType.Option;
+        }
+        return this.note().retType();
+    }
+
+    public boolean isSimplex()
+    { return this.retType().isSimplex(); }
+    public boolean isComplex()
+    { return this.retType().isComplex(); }
+
+    public int extent()
+    {
+        DataType Type = this.retType();
+        if (this.Note == null && Type.isComplex())
+            return (Type == DataType.Table) ? this.items().length/2 : this.items().length;
+        else return this.note().extent();
+    }
+
+    public LazyNote at(Object Key)
+    {
+        DataType Type = this.retType();
+        if (this.Note == null && (Type == DataType.Table || Type == DataType.Array))
+        {
+            DataNote K = (Key instanceof DataNote DN) ? DN : (Key != null) ? new DataNote(Key) : new DataNote();
+            int U = (Type == DataType.Table) ? this.keys().getOrDefault(K, -1) : this.index(K);
+            if (U >= 0) return new LazyNote(this.Tape, U, null);
+            else            // Exception wie DataNote.at (ohne komplettes Parsing)
+                ((Type == DataType.Table) ? new DataNote(Collections.emptyMap()) : new DataNote(Collections.emptyList())).at(Key);
+        }
+        return new LazyNote(this.Tape, -1, this.note().at(Key));   // auch Exception wie DataNote.at
+    }
+    public LazyNote at(List<?> Keys)
+    {
+        LazyNote LN = this;
+        for (Object Key : Keys) LN = LN.at(Key);
+        return LN;
+    }
+
+    /** Werte von Array/Table als Sichten (null für Option/Simplex wie DataNote.asList) */
+    public List<LazyNote> asList()
+    {
+        DataType Type = this.retType();
+        if (this.Note == null && (Type == DataType.Table || Type == DataType.Array))
+        {
+            int[] Us = this.items();
+            int Step = (Type == DataType.Table) ? 2 : 1;
+            List<LazyNote> List = new ArrayList<>(Us.length/Step);
+            for (int X = Step-1; X < Us.length; X += Step) List.add(new LazyNote(this.Tape, Us[X], null));
+            return List;
+        }
+        else return wrap(this.note().asList(n -> n));
+    }
+
+    /** Keys (als DataNotes) und Werte (als Sichten) wie DataNote.asMap */
+    public Map<DataNote, LazyNote> asMap()
+    {
+        DataType Type = this.retType();
+        if (this.Note == null && (Type == DataType.Table || Type == DataType.Array))
+        {
+            Map<DataNote, LazyNote> Map = new LinkedHashMap<>();
+            if (Type == DataType.Table)
+                for (Map.Entry<DataNote, Integer> E : this.keys().entrySet())
+                    Map.put(E.getKey(), new LazyNote(this.Tape, E.getValue(), null));
+            else
+            {
+                int[] Us = this.items();
+                for (int X = 0; X < Us.length; X++) Map.put(new DataNote(X), new LazyNote(this.Tape, Us[X], null));
+            }
+            return Map;
+        }
+        else
+        {
+            Map<DataNote, DataNote> Notes = this.note().asMap(n -> n, n -> n);
+            if (Notes == null) return null;
+            Map<DataNote, LazyNote> Map = new LinkedHashMap<>();
+            for (Map.Entry<DataNote, DataNote> E : Notes.entrySet())
+                Map.put(E.getKey(), new LazyNote(this.Tape, -1, E.getValue()));
+            return Map;
+        }
+    }
+
+    private List<LazyNote> wrap(List<DataNote> Notes)
+    {
+        if (Notes == null) return null;
+        List<LazyNote> List = new ArrayList<>(Notes.size());
+        for (DataNote N : Notes) List.add(new LazyNote(this.Tape, -1, N));
+        return List;
+    }
+
+    // ### Strukturindex ###
+
+    // Direkte Kind-Daten eines komplexen Datums (Table: Key, Wert, Key, Wert, ...)
+    private int[] items()
+    {
+        return this.Tape.Items.computeIfAbsent(this.Unit, U ->
+        {
+            int[] Us = this.Tape.Units;
+            int N = 0;
+            for (int C = U+1; C < Us[3*U+2]; C = Us[3*C+2]) N++;
+            int[] Items = new int[N];
+            for (int C = U+1, X = 0; C < Us[3*U+2]; C = Us[3*C+2]) Items[X++] = C;
+            return Items;
+        });
+    }
+
+    // Table-Keys zum Datum des Werts (Keys einmalig per Processor geparst)
+    private Map<DataNote, Integer> keys()
+    {
+        Map<DataNote, Integer> Keys = this.Tape.Keys.get(this.Unit);
+        if (Keys == null)
+        {
+            int[] Us = this.items();
+            Keys = new LinkedHashMap<>(Us.length);
+            for (int X = 0; X+1 < Us.length; X += 2)
+            {
+                DataNote Key = new LazyNote(this.Tape, Us[X], null).note();
+                this.Tape.keyed(Key, Us[X]);
+                if (Keys.putIfAbsent(Key, Us[X+1]) != null)
+                    this.note();        // doppelter Key: Exception wie Processor.parse
+            }
+            this.Tape.Keys.put(this.Unit, Keys);
+        }
+        return Keys;
+    }
+
+    // Datum zum Array-Index (-1 wenn kein gültiger Index wie bei DataNote.at)
+    private int index(DataNote Key)
+    {
+        if (Key.retType() == DataType.Number)
+        {
+            int[] Us = this.items();
+            Number N = Key.asNumber(null);
+            if (N != null && N.doubleValue() >= 0 && N.doubleValue() < Us.length)
+            {
+                int X = N.intValue();
+                if (Key.equals(new DataNote(X))) return Us[X];
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString()
+    { return this.note().toString(); }
+}
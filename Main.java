@@ -23,6 +23,9 @@ public class Main
       + CSV/JSON/JEXIS-Daten via Dateien (s. Bsp. ganz unten):
         - Lesen von Daten-Strings am einfachsten per Files.readString
         - Schreiben von Daten-Strings am einfachsten per Files.writeString
+        - große Dateien per NexusFiles (Path-Einstieg, Datei-Mapping) bzw.
+          streamend per CSVReader/NexusEvents (ohne kompletten Daten-String)
+        - ganze Verzeichnisse per NexusConverter (z.B. CSV => JSON, parallel)
 
 	* Überblick über Parsing und Presenting (Umkehrfunktionen):
 	  + Datenstring =>  Processor-Parsing     => DataNote
@@ -208,6 +211,8 @@ public class Main
             System.out.println("XJSON-Gleichheit: "+E);
 
             List<Double> L = DN1.asList(Nt -> Nt.asNumber(true).doubleValue());  // Double mit Hex
+            // alternativ primitiv und je Note gecacht (auch 0b/0q/0o/0x ohne P):
+            // double[] D = NexusNumbers.asDoubleArray(DN1, Double.NaN);
             E = L.equals(List.of(1024.0, 1024.0, Double.NaN, Double.POSITIVE_INFINITY,
                                  0.0, 1.0));
             System.out.println("Zahlen-Gleichheit: "+E);
@@ -257,6 +262,8 @@ public class Main
             System.out.println("CSV/JSON-Gleichheit: "+E);
 
             // Typisierung von CSV-Daten analog JSON-Datentypen
+            // (ohne Exceptions pro Feld per CSVTyping: als Trans gleiches Ergebnis wie TypeTrans,
+            //  per CSVTyping.parse nur unquotierte Felder typisiert)
             EnumSet<DataNote.DataType> Z = EnumSet.of(DataNote.DataType.Number, DataNote.DataType.Boole, DataNote.DataType.Void);
             BiFunction<DataNote, Boolean, DataNote> // Transformation zur Datentypisierung
                 TypeTrans = (Nt, Tg) ->	    // Tg hier unbenutzt (true wenn Key, false wenn Value)
@@ -295,6 +302,9 @@ public class Main
                 String T = Files.readString(Path.of("C:\\Users\\jr\\Desktop\\PreSurNames\\Surnames.txt"));
                 DataNote DN = DataNote.byCSV(T);
                 System.out.println("Anzahl Zeilen: "+DN.extent());
+                // alternativ direkt per Path bzw. zeilenweise (große Dateien)
+                // DN = NexusFiles.byCSV(Path.of("C:\\Users\\jr\\Desktop\\PreSurNames\\Surnames.txt"));
+                // try (Stream<DataNote> Rows = CSVReader.rows(new CSVProcessor(), Path.of(...))) { ... }
             }
             catch (Exception Exce)
             { System.out.println(Exce.getMessage()); }
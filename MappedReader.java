@@ -0,0 +1,97 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/*
+Reader über eine per FileChannel.map eingeblendete UTF-8-Datei:
+
+* dekodiert direkt aus dem (page-gecachten) Mapping in den Puffer des
+  Aufrufers, ohne Kopie der Datei in einen byte[]-Puffer oder String
+* Dateien über 2 GB werden fensterweise eingeblendet (neues Mapping ab
+  dem ersten noch nicht dekodierten Byte, d.h. auch über Fenstergrenzen
+  hinweg geteilte UTF-8-Sequenzen bleiben korrekt)
+* ungültiges UTF-8 wird wie bei Files.readString als Fehler gemeldet
+*/
+final class MappedReader extends Reader
+{
+    static private final long WindSize = 1L << 30;     // Fenstergröße (1 GiB)
+
+    private final FileChannel Chan;
+    private final long Size;
+    private final CharsetDecoder Deco = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPORT)
+        .onUnmappableCharacter(CodingErrorAction.REPORT);
+    private final CharBuffer Pair = CharBuffer.allocate(2);    // Surrogatpaar bei Puffergröße 1
+
+    private MappedByteBuffer Buff = null;
+    private long Posi = 0;              // Dateiposition des aktuellen Fensters
+    private boolean Ended = false;      // true, wenn vollständig dekodiert
+
+    MappedReader(Path File) throws IOException
+    {
+        this.Chan = FileChannel.open(File, StandardOpenOption.READ);
+        this.Size = this.Chan.size();
+        this.Pair.flip();
+    }
+
+    @Override
+    public int read(char[] Cbuf, int Off, int Len) throws IOException
+    {
+        if (Len > 0)
+        {
+            CharBuffer Out = CharBuffer.wrap(Cbuf, Off, Len);
+            while (this.Pair.hasRemaining() && Out.hasRemaining()) Out.put(this.Pair.get());
+            while (Out.hasRemaining() && !this.Ended)
+            {
+                if (this.Buff == null || !this.Buff.hasRemaining() && !this.last()) this.remap();
+                int Prev = Out.position();
+                CoderResult Rslt = this.Deco.decode(this.Buff, Out, this.last());
+                if (Rslt.isError()) Rslt.throwException();
+                else if (Rslt.isOverflow())
+                {
+                    if (Out.position() == Prev && Out.position() == Off)
+                    {                           // Surrogatpaar passt nicht in Puffer
+                        this.Pair.clear();
+                        Rslt = this.Deco.decode(this.Buff, this.Pair, this.last());
+                        if (Rslt.isError()) Rslt.throwException();
+                        this.Pair.flip();
+                        Out.put(this.Pair.get());
+                    }
+                    break;
+                }
+                else if (this.last())           // Eingabeende
+                {
+                    this.Deco.flush(Out);
+                    this.Ended = true;
+                }
+                else this.remap();              // nächstes Fenster (inkl. Rest-Bytes)
+            }
+            int N = Out.position()-Off;
+            return (N == 0 && this.Ended) ? -1 : N;
+        }
+        else return 0;
+    }
+
+    // true, wenn das aktuelle Fenster bis zum Dateiende reicht
+    private boolean last()
+    { return this.Buff != null && this.Posi+this.Buff.limit() == this.Size; }
+
+    // Blendet das nächste Fenster ab dem ersten nicht dekodierten Byte ein
+    private void remap() throws IOException
+    {
+        if (this.Buff != null) this.Posi += this.Buff.position();
+        this.Buff = this.Chan.map(FileChannel.MapMode.READ_ONLY, this.Posi, Math.min(WindSize, this.Size-this.Posi));
+    }
+
+    @Override
+    public void close() throws IOException
+    { this.Chan.close(); }
+}
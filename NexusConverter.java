@@ -0,0 +1,229 @@
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+import static lingolava.Nexus.*;
+
+/*
+Batch-Konvertierung ganzer Verzeichnisse (z.B. CSV-Exporte nach JSON):
+
+* statt einer Schleife Files.readString => parse => present => Files.writeString
+  (eine Datei nach der anderen, s. Datei-Abschnitt in Main) laufen die Stufen
+  read/parse/present/write für viele Dateien gleichzeitig auf virtuellen Threads
+* jede Stufe ist begrenzt (read/write: IOPermits Dateien, parse/present:
+  Parallelism Dateien), d.h. Dateien überlappen sich stufenweise (Pipeline)
+* Backpressure per Speicherbudget: jede Datei reserviert vor dem Lesen
+  geschätzt Expansion * Dateigröße Bytes (Text und DataNote-Baum) und gibt
+  sie erst nach dem Schreiben frei; neue Dateien starten erst bei freiem
+  Budget (eine Datei größer als das Budget läuft allein)
+* Quelldateien: alle regulären Dateien unter SrcDir (rekursiv, optional per
+  Glob auf den Dateinamen, z.B. "*.csv"); Ziel mit gleichem relativen Pfad
+  unter DstDir und neuer Endung (Standard nach Processor: csv/json/jexis)
+* Fehler pro Datei (IO, Processor, Trans, auch Errors wie StackOverflowError
+  bei tief geschachtelten Daten) brechen den Batch nicht ab und werden als
+  Failure mit Stufe gemeldet; Trans wird parallel aufgerufen
+  (muss also thread-sicher sein, z.B. NexusIntern)
+* Result mit Durchsatz (Dateien/s, Bytes/s bezogen auf gelesene Bytes)
+
+Beispiel:
+    NexusConverter.Result R = NexusConverter.convert(Path.of("exports"), Path.of("json"),
+                                                     new CSVProcessor(), new JSONProcessor(), Processor.IdentTrans);
+    System.out.println(R.Converted()+" Dateien, "+R.filesPerSecond()+" Dateien/s");
+*/
+public final class NexusConverter
+{
+    static private final long DeflBudget = 256L << 20;  // Standard-Speicherbudget (Bytes)
+    static private final int Expansion = 8;             // geschätzter Speicher pro Byte Quelltext
+    static private final int IOPermits = 32;            // gleichzeitige Lese-/Schreibzugriffe
+    static private final int PermitUnit = 1 << 10;      // Budget-Einheit der Semaphore (Bytes)
+
+    public enum Stage { READ, PARSE, PRESENT, WRITE }
+
+    /** Fehler einer Datei (Quelle, Stufe, Exception bzw. Error) */
+    public record Failure(Path Source, Stage Stage, Throwable Error)
+    {}
+
+    /** Ergebnis eines Batches (Files = gefundene Quelldateien, Bytes gelesen, Written geschrieben) */
+    public record Result(int Files, int Converted, long Bytes, long Written, long Nanos, List<Failure> Failures)
+    {
+        public double filesPerSecond()
+        { return (this.Nanos > 0) ? this.Converted * 1e9 / this.Nanos : 0; }
+        public double bytesPerSecond()
+        { return (this.Nanos > 0) ? this.Bytes * 1e9 / this.Nanos : 0; }
+    }
+
+    private final Processor From, To;
+    private final BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans;
+    private final Path SrcDir, DstDir;
+    private final String Extension;
+    private final Semaphore Budget, Reading, Parsing, Presenting, Writing;
+    private final int BudgetPermits;
+
+    private final LongAdder Converted = new LongAdder(), Bytes = new LongAdder(), Written = new LongAdder();
+    private final Queue<Failure> Failures = new ConcurrentLinkedQueue<>();
+
+    private NexusConverter
+    (Path SrcDir, Path DstDir, Processor From, Processor To,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans,
+     String Extension, long Budget, int Parallelism)
+    {
+        this.SrcDir = SrcDir; this.DstDir = DstDir;
+        this.From = From; this.To = To; this.Trans = Trans; this.Extension = Extension;
+        this.BudgetPermits = (int) Math.min(Integer.MAX_VALUE, Math.max(1, Budget / PermitUnit));
+        this.Budget = new Semaphore(this.BudgetPermits);
+        this.Reading = new Semaphore(IOPermits); this.Writing = new Semaphore(IOPermits);
+        this.Parsing = new Semaphore(Parallelism); this.Presenting = new Semaphore(Parallelism);
+    }
+
+    // ### Konvertierung ###
+
+    public static Result convert(Path SrcDir, Path DstDir, Processor From, Processor To)
+    throws IOException, InterruptedException
+    { return convert(SrcDir, DstDir, From, To, Processor.IdentTrans); }
+
+    public static Result convert
+    (Path SrcDir, Path DstDir, Processor From, Processor To,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans)
+    throws IOException, InterruptedException
+    {
+        return convert(SrcDir, DstDir, From, To, Trans, null, extension(To),
+                       DeflBudget, Runtime.getRuntime().availableProcessors());
+    }
+
+    /** Glob auf Dateinamen (null = alle), Extension der Zieldateien ohne Punkt (null = unverändert),
+     Budget in Bytes, Parallelism = gleichzeitige parse- bzw. present-Stufen */
+    public static Result convert
+    (Path SrcDir, Path DstDir, Processor From, Processor To,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans,
+     String Glob, String Extension, long Budget, int Parallelism)
+    throws IOException, InterruptedException
+    {
+        Objects.requireNonNull(SrcDir, "Source directory null"); Objects.requireNonNull(DstDir, "Target directory null");
+        Objects.requireNonNull(From, "Processor null"); Objects.requireNonNull(To, "Processor null");
+        Objects.requireNonNull(Trans, "Transformation null");
+        if (Budget <= 0 || Parallelism <= 0)
+            throw new IllegalArgumentException("Budget and parallelism must be positive");
+
+        PathMatcher Match = (Glob != null) ? FileSystems.getDefault().getPathMatcher("glob:"+Glob) : null;
+        List<Path> Sources;
+        try (Stream<Path> Walk = Files.walk(SrcDir))
+        {
+            Sources = Walk.filter(Files::isRegularFile)
+                          .filter(File -> Match == null || Match.matches(File.getFileName()))
+                          .sorted().toList();
+        }
+
+        NexusConverter Batch = new NexusConverter(SrcDir, DstDir, From, To, Trans, Extension, Budget, Parallelism);
+        long Start = System.nanoTime();
+        try (ExecutorService Threads = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            for (Path Source : Sources)
+            {
+                int Permits = Batch.reserve(Source);    // Backpressure (blockiert bei vollem Budget)
+                Threads.submit(() -> Batch.convert(Source, Permits));
+            }
+        }                                               // close wartet auf alle Dateien
+        long Nanos = System.nanoTime() - Start;
+
+        List<Failure> Failures = new ArrayList<>(Batch.Failures);
+        Failures.sort(Comparator.comparing(Failure::Source));
+        return new Result(Sources.size(), Batch.Converted.intValue(), Batch.Bytes.sum(), Batch.Written.sum(),
+                          Nanos, List.copyOf(Failures));
+    }
+
+    // Standard-Endung der Zieldateien nach Processor-Typ
+    static private String extension(Processor To)
+    {
+        if (To instanceof CSVProcessor) return "csv";
+        else if (To instanceof JSONProcessor) return "json";
+        else if (To instanceof JEXISProcessor) return "jexis";
+        else return null;
+    }
+
+    // Reserviert das geschätzte Speicherbudget einer Datei (in PermitUnit)
+    private int reserve(Path Source) throws InterruptedException
+    {
+        long Size;
+        try { Size = Files.size(Source); }
+        catch (IOException Exce) { Size = 0; }          // Fehler meldet die read-Stufe
+        int Permits = (int) Math.min(this.BudgetPermits, Math.max(1, Size * Expansion / PermitUnit));
+        this.Budget.acquire(Permits);
+        return Permits;
+    }
+
+    // Pipeline einer Datei; jede Stufe begrenzt, Budget bis nach dem Schreiben belegt
+    private void convert(Path Source, int Permits)
+    {
+        Stage Step = Stage.READ;
+        try
+        {
+            String Text;
+            this.Reading.acquire();
+            try { Text = NexusFiles.text(Source); }
+            finally { this.Reading.release(); }
+            this.Bytes.add(Files.size(Source));
+
+            Step = Stage.PARSE;
+            DataNote Note;
+            this.Parsing.acquire();
+            try { Note = this.From.parse(Text, this.Trans); }
+            finally { this.Parsing.release(); }
+            Text = null;                                // Quelltext freigeben
+
+            Step = Stage.PRESENT;
+            String Data;
+            this.Presenting.acquire();
+            try { Data = this.To.present(Note); }
+            finally { this.Presenting.release(); }
+            Note = null;
+
+            Step = Stage.WRITE;
+            Path Target = this.target(Source);
+            this.Writing.acquire();
+            try
+            {
+                if (Target.getParent() != null) Files.createDirectories(Target.getParent());
+                Files.writeString(Target, Data);
+            }
+            finally { this.Writing.release(); }
+            this.Written.add(Files.size(Target));
+            this.Converted.increment();
+        }
+        catch (InterruptedException Exce)
+        {
+            Thread.currentThread().interrupt();
+            this.Failures.add(new Failure(Source, Step, Exce));
+        }
+        catch (Throwable Exce)                          // auch StackOverflowError u.ä. pro Datei
+        { this.Failures.add(new Failure(Source, Step, Exce)); }
+        finally
+        { this.Budget.release(Permits); }
+    }
+
+    // Zielpfad: gleicher relativer Pfad unter DstDir, ggf. mit neuer Endung
+    private Path target(Path Source)
+    {
+        Path Relative = this.SrcDir.relativize(Source);
+        if (this.Extension != null)
+        {
+            String Name = Relative.getFileName().toString();
+            int Dot = Name.lastIndexOf('.');
+            Relative = Relative.resolveSibling(((Dot > 0) ? Name.substring(0, Dot) : Name)+"."+this.Extension);
+        }
+        return this.DstDir.resolve(Relative);
+    }
+}
@@ -0,0 +1,432 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static lingolava.Nexus.*;
+import static lingolava.Nexus.DataNote.*;
+
+/*
+Ereignisbasierter Pull-Parser für JSON/JEXIS (statt kompletter DataNote-Bäume):
+
+* Processor.parse baut immer den gesamten Datenbaum auf; für große Dateien
+  oder Datenströme (z.B. Log-Dumps) ist das nicht praktikabel
+* NexusEvents liest dagegen aus einem Reader und liefert nacheinander Ereignisse
+  START_TABLE/END_TABLE, START_ARRAY/END_ARRAY, START_OPTION/END_OPTION für
+  komplexe Daten und KEY/VALUE für simplexe Daten (jeweils mit DataType)
+* der Speicherbedarf hängt nur von der Verschachtelungstiefe ab (Stack),
+  nicht von der Dokumentgröße; doppelte Keys werden daher nicht erkannt
+* Struktur über die Marks des Processors (z.B. eigene DataMarks), simplexe
+  Daten werden vom Processor selbst geparst (Escapes, XtraNumb, XtraCase usw.);
+  Table-Keys werden wie vom Processor auf ihren Typ geprüft (je Typ einmal per
+  Probe-Table, z.B. JSON: nur Strings) mit dessen Exception
+* parseLines liefert zeilenweise je eine DataNote (z.B. NDJSON/JEXIS-Lines)
+
+Beispiel:
+    NexusEvents Events = NexusEvents.events(new JSONProcessor(), new StringReader("{\"A\": [1, 2]}"));
+    // START_TABLE, KEY "A", START_ARRAY, VALUE 1, VALUE 2, END_ARRAY, END_TABLE
+*/
+public final class NexusEvents implements Iterator<NexusEvents.Event>, Closeable
+{
+    // ### Typen ###
+
+    public enum Token
+    { START_TABLE, END_TABLE, START_ARRAY, END_ARRAY, START_OPTION, END_OPTION, KEY, VALUE }
+
+    /** Einzelnes Parse-Ereignis: Note nur bei KEY/VALUE (sonst null), Depth ab 0 (Wurzel),
+     Tagy true für Keys (Table-Keys und Option-Elemente, auch komplexe) */
+    public record Event(Token Kind, DataType Type, DataNote Note, boolean Tagy, int Depth)
+    {
+        public boolean isStart()
+        { return this.Kind == Token.START_TABLE || this.Kind == Token.START_ARRAY || this.Kind == Token.START_OPTION; }
+        public boolean isEnd()
+        { return this.Kind == Token.END_TABLE || this.Kind == Token.END_ARRAY || this.Kind == Token.END_OPTION; }
+    }
+
+    /** Syntaxfehler in der Struktur (Meldung analog zur ProcessorException) */
+    static public final class EventException extends RuntimeException
+    {
+        static private final long serialVersionUID = 1L;
+
+        EventException(String Mssg, long Indx, String Info)
+        { super(Mssg+" at/around index "+Indx+(!Info.isEmpty() ? " ("+Info+")" : "")); }
+    }
+
+    // Erwarteter Zustand innerhalb eines komplexen Datums
+    private enum State { Open, Asso, Value, Next }
+
+    // Offenes komplexes Datum auf dem Stack
+    static private final class Frame
+    {
+        final DataType Type;
+        final int Close;
+        State State = NexusEvents.State.Open;
+        Frame(DataType Type, int Close)
+        { this.Type = Type; this.Close = Close; }
+    }
+
+    static private final int EndCode = CodeReader.EndCode;
+
+    private final Processor Proc;
+    private final NexusMarks Marks;
+    private final CodeReader Input;
+    private final Deque<Frame> Stack = new ArrayDeque<>();
+    private boolean Root = false;       // true, wenn Wurzeldatum vollständig
+    private boolean Pass = false;       // true: nächstes Datum roh überlesen (s. 'pass')
+    private Event Ahead = null;         // vorgelesenes Ereignis
+    private final Set<DataType> KeyTypes = EnumSet.noneOf(DataType.class);     // vom Processor akzeptierte Key-Typen
+
+    // ### Konstruktionen ###
+
+    private NexusEvents(Processor Proc, Reader Input)
+    {
+        if (Proc != null && Input != null)
+        {
+            this.Proc = Proc;
+            this.Marks = new NexusMarks(Proc);
+            this.Input = new CodeReader(Input);
+        }
+        else throw new NullPointerException("Processor or input null");
+    }
+
+    public static NexusEvents events(Processor Proc, Reader Input)
+    { return new NexusEvents(Proc, Input); }
+    public static NexusEvents events(Processor Proc, Path File) throws IOException    // UTF-8 per Mapping
+    {
+        Reader Input = NexusFiles.reader(File);
+        try { return events(Proc, Input); }
+        catch (RuntimeException Exce) { Input.close(); throw Exce; }
+    }
+
+    public Stream<Event> stream()
+    {
+        int Flags = Spliterator.ORDERED | Spliterator.NONNULL;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Flags), false)
+                            .onClose(this::close);
+    }
+
+    // ### Iteration ###
+
+    @Override
+    public boolean hasNext()
+    {
+        if (this.Ahead == null) this.Ahead = this.advance();
+        return this.Ahead != null;
+    }
+
+    @Override
+    public Event next()
+    {
+        if (this.hasNext())
+        { Event E = this.Ahead; this.Ahead = null; return E; }
+        else throw new NoSuchElementException();
+    }
+
+    // Wie 'next', überliest aber ein folgendes Datum (auch komplex) roh ohne Parsing
+    // und liefert dafür ein KEY/VALUE-Ereignis ohne Type/Note; im überlesenen Datum
+    // wird nur die Klammerung geprüft (z.B. für nicht selektierte Teilbäume bei DataPath)
+    Event pass()
+    {
+        if (this.Ahead == null)
+        {
+            this.Pass = true;
+            try { Event E = this.advance(); if (E != null) return E; }
+            finally { this.Pass = false; }
+        }
+        return this.next();
+    }
+
+    // Aktuelle Verschachtelungstiefe (Anzahl offener komplexer Daten)
+    public int depth()
+    { return this.Stack.size(); }
+
+    @Override
+    public void close()
+    { this.Input.close(); }
+
+    // Ermittelt das nächste Ereignis (null am Ende des Wurzeldatums)
+    private Event advance()
+    {
+        while (true)
+        {
+            this.skip();
+            Frame F = this.Stack.peek();
+            if (F == null)
+                if (this.Root)
+                    if (this.Input.peek() == EndCode) return null;
+                    else throw this.error("Invalid data", "remaining non-whitespace input");
+                else return this.unit(false);
+
+            int Code = this.Input.peek();
+            switch (F.State)
+            {
+                case Open ->            // nach öffnender Klammer oder Separator
+                {
+                    if (Code == F.Close) return this.closing();
+                    boolean Tagy = (F.Type != DataType.Array);
+                    F.State = (F.Type == DataType.Table) ? State.Asso : State.Next;
+                    return this.unit(Tagy);
+                }
+                case Asso ->            // nach Table-Key
+                {
+                    if (Code == this.Marks.AssoMark) { this.Input.read(); F.State = State.Value; }
+                    else throw this.error("Invalid mark/symbol", "associator expected");
+                }
+                case Value ->           // nach Assoziator
+                { F.State = State.Next; return this.unit(false); }
+                case Next ->            // nach Datum: Separator oder Ende
+                {
+                    if (Code == this.Marks.SeprMark) { this.Input.read(); F.State = State.Open; }
+                    else if (Code == F.Close) return this.closing();
+                    else throw this.error("Invalid mark/symbol", "delimiter '"+Character.toString(F.Close)+"' expected");
+                }
+            }
+        }
+    }
+
+    // Liest ein Datum: öffnende Klammer (START) oder simplexes Datum (KEY/VALUE)
+    private Event unit(boolean Tagy)
+    {
+        int Code = this.Input.peek(), Depth = this.Stack.size();
+        DataType Type =
+            (Code == this.Marks.TablMark1) ? DataType.Table :
+            (Code == this.Marks.ArryMark1) ? DataType.Array :
+            (Code == this.Marks.OptnMark1) ? DataType.Option : null;
+        if (this.Pass)
+        {
+            if (Type != null && NexusMarks.isMark(Code)) this.bypass();
+            else if (this.token().isEmpty()) throw this.error("Invalid mark/symbol", "data expected");
+            if (this.Stack.isEmpty()) this.Root = true;
+            return new Event(Tagy ? Token.KEY : Token.VALUE, null, null, Tagy, Depth);
+        }
+        else if (Type != null && NexusMarks.isMark(Code))
+        {
+            this.Input.read();
+            int Close = switch (Type)
+            {
+                case Table -> this.Marks.TablMark2;
+                case Array -> this.Marks.ArryMark2;
+                default -> this.Marks.OptnMark2;
+            };
+            if (Tagy) this.keyed(Type, Character.toString(Code)+Character.toString(Close));
+            this.Stack.push(new Frame(Type, Close));
+            Token Kind = switch (Type)
+            {
+                case Table -> Token.START_TABLE;
+                case Array -> Token.START_ARRAY;
+                default -> Token.START_OPTION;
+            };
+            return new Event(Kind, Type, null, Tagy, Depth);
+        }
+        else
+        {
+            String Raw = this.token();
+            if (!Raw.isEmpty())
+            {
+                DataNote Note = this.Proc.parse(Raw);   // simplex per Processor (inkl. Escapes/Zahlen)
+                if (Tagy) this.keyed(Note.retType(), Raw);
+                if (this.Stack.isEmpty()) this.Root = true;
+                return new Event(Tagy ? Token.KEY : Token.VALUE, Note.retType(), Note, Tagy, Depth);
+            }
+            else throw this.error("Invalid mark/symbol", "data expected");
+        }
+    }
+
+    // Prüft den Typ eines Table-Keys wie der Processor (z.B. JSON: nur Strings), einmal pro Typ
+    // per Probe-Table mit dem Key (Raw: Rohtext, komplex leer); wirft ggf. dessen Exception
+    private void keyed(DataType Type, String Raw)
+    {
+        Frame F = this.Stack.peek();
+        if (F != null && F.Type == DataType.Table && !this.KeyTypes.contains(Type))
+        {
+            NexusMarks M = this.Marks;
+            this.Proc.parse(Character.toString(M.TablMark1)+Raw+Character.toString(M.AssoMark)+Raw+
+                            Character.toString(M.TablMark2));
+            this.KeyTypes.add(Type);
+        }
+    }
+
+    // Überliest ein komplexes Datum ab der öffnenden Klammer roh (nur Klammerung geprüft)
+    private void bypass()
+    {
+        NexusMarks M = this.Marks;
+        StringBuilder SB = new StringBuilder();
+        Deque<Integer> Closes = new ArrayDeque<>();
+        do
+        {
+            this.skip();
+            int Code = this.Input.peek();
+            if (Code == EndCode) throw this.error("Invalid mark/symbol", "unexpected end of data");
+            else if (Code == M.StriMark || Code == M.CharMark)
+            { this.quoted(SB, Code); SB.setLength(0); continue; }
+            else if (Code == M.TablMark1) Closes.push(M.TablMark2);
+            else if (Code == M.ArryMark1) Closes.push(M.ArryMark2);
+            else if (Code == M.OptnMark1) Closes.push(M.OptnMark2);
+            else if (Code == M.TablMark2 || Code == M.ArryMark2 || Code == M.OptnMark2)
+                if (Code != Closes.pop())
+                    throw this.error("Invalid mark/symbol", "delimiter '"+Character.toString(Code)+"' unexpected");
+            this.Input.read();
+        }
+        while (!Closes.isEmpty());
+    }
+
+    // Schließt das oberste komplexe Datum
+    private Event closing()
+    {
+        this.Input.read();
+        Frame F = this.Stack.pop();
+        if (this.Stack.isEmpty()) this.Root = true;
+        Token Kind = switch (F.Type)
+        {
+            case Table -> Token.END_TABLE;
+            case Array -> Token.END_ARRAY;
+            default -> Token.END_OPTION;
+        };
+        boolean Tagy = false;
+        Frame P = this.Stack.peek();            // Key, wenn Eltern-Table auf Assoziator wartet
+        if (P != null)                          // bzw. Eltern-Option (Elemente sind Keys)
+            Tagy = (P.Type == DataType.Table && P.State == State.Asso) || P.Type == DataType.Option;
+        return new Event(Kind, F.Type, null, Tagy, this.Stack.size());
+    }
+
+    // Liest den Rohtext eines simplexen Datums (quotiert oder bis zum nächsten Trenner)
+    private String token()
+    {
+        StringBuilder SB = new StringBuilder();
+        int Code = this.Input.peek();
+        if (Code != EndCode && (Code == this.Marks.StriMark || Code == this.Marks.CharMark))
+            this.quoted(SB, Code);
+        else
+            while ((Code = this.Input.peek()) != EndCode && !this.Marks.delimits(Code))
+                SB.appendCodePoint(this.Input.read());
+        return SB.toString();
+    }
+
+    // Liest eine quotierte Sequenz inkl. Quotes (Escapes und verdoppelte Quotes überlesen)
+    private void quoted(StringBuilder SB, int Quote)
+    {
+        SB.appendCodePoint(this.Input.read());
+        while (true)
+        {
+            int Code = this.Input.read();
+            if (Code == EndCode) throw this.error("Invalid mark/symbol", "unexpected end of char sequence");
+            SB.appendCodePoint(Code);
+            if (Code == this.Marks.EscpMark)
+            {
+                int C = this.Input.read();
+                if (C != EndCode) SB.appendCodePoint(C);
+            }
+            else if (Code == Quote)
+                if (this.Input.peek() == Quote) SB.appendCodePoint(this.Input.read());
+                else break;
+        }
+    }
+
+    // Überliest Whitespace und Kommentare (#...#)
+    private void skip()
+    {
+        while (true)
+        {
+            int Code = this.Input.peek();
+            if (Code == EndCode) return;
+            else if (this.Marks.isWhisp(Code)) this.Input.read();
+            else if (Code == this.Marks.CommMark && NexusMarks.isMark(Code))
+                this.quoted(new StringBuilder(), Code);
+            else return;
+        }
+    }
+
+    private EventException error(String Mssg, String Info)
+    { return new EventException(Mssg, this.Input.index(), Info); }
+
+    // ### Zeilenweises Parsing (NDJSON/JEXIS-Lines) ###
+
+    /** Liefert lazy je eine DataNote pro nicht-leerer Zeile (LF/CR/CRLF außerhalb von Quotes) */
+    public static Stream<DataNote> parseLines(Processor Proc, Reader Input)
+    { return parseLines(Proc, Input, Processor.IdentTrans); }
+    public static Stream<DataNote> parseLines(Processor Proc, Path File) throws IOException
+    { return parseLines(Proc, File, Processor.IdentTrans); }
+    public static Stream<DataNote> parseLines
+    (Processor Proc, Path File, BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans)
+    throws IOException
+    {
+        Reader Input = NexusFiles.reader(File);
+        try { return parseLines(Proc, Input, Trans); }
+        catch (RuntimeException Exce) { Input.close(); throw Exce; }
+    }
+    public static Stream<DataNote> parseLines
+    (Processor Proc, Reader Input, BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans)
+    {
+        if (Proc != null && Input != null && Trans != null)
+        {
+            NexusMarks Marks = new NexusMarks(Proc);
+            CodeReader Codes = new CodeReader(Input);
+            Iterator<DataNote> Lines = new Iterator<>()
+            {
+                private DataNote Ahead = null;
+
+                @Override
+                public boolean hasNext()
+                {
+                    String Line;
+                    while (this.Ahead == null && (Line = line(Codes, Marks)) != null)
+                        if (!Line.codePoints().allMatch(Marks::isWhisp))    // Leerzeilen überspringen
+                            this.Ahead = Proc.parse(Line, Trans);
+                    return this.Ahead != null;
+                }
+
+                @Override
+                public DataNote next()
+                {
+                    if (this.hasNext())
+                    { DataNote Note = this.Ahead; this.Ahead = null; return Note; }
+                    else throw new NoSuchElementException();
+                }
+            };
+            int Flags = Spliterator.ORDERED | Spliterator.NONNULL;
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(Lines, Flags), false)
+                                .onClose(Codes::close);
+        }
+        else throw new NullPointerException("Processor, input, or transformation null");
+    }
+
+    // Liest eine Zeile bis LF/CR außerhalb von Strings/Chars/Kommentaren (null am Ende)
+    static private String line(CodeReader Codes, NexusMarks Marks)
+    {
+        if (Codes.peek() != EndCode)
+        {
+            StringBuilder SB = new StringBuilder();
+            int Code, Quote = EndCode;
+            boolean Escp = false;
+            while ((Code = Codes.read()) != EndCode)
+            {
+                if (Quote == EndCode)
+                {
+                    if (Code == '\n') break;
+                    if (Code == '\r') { if (Codes.peek() == '\n') Codes.read(); break; }
+                    if (NexusMarks.isMark(Code) &&
+                        (Code == Marks.StriMark || Code == Marks.CharMark || Code == Marks.CommMark))
+                        Quote = Code;
+                }
+                else if (Escp) Escp = false;
+                else if (Code == Marks.EscpMark) Escp = true;
+                else if (Code == Quote)                 // verdoppelte Quotes: zweimal umschalten
+                    Quote = EndCode;
+                SB.appendCodePoint(Code);
+            }
+            return SB.toString();
+        }
+        else return null;
+    }
+}
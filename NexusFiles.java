@@ -0,0 +1,63 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.BiFunction;
+
+import static lingolava.Nexus.*;
+
+/*
+Datei-Einstiegspunkte (Path statt String) für CSV/JSON/JEXIS-Daten in UTF-8:
+
+* reader: Reader über die per FileChannel.map eingeblendete Datei (auch
+  über 2 GB, fensterweise), z.B. für CSVReader/NexusEvents ohne Datei-Kopie
+* parse/byCSV/byJSON/byJEXIS: komplettes Parsing einer Datei analog zu
+  Processor.parse bzw. DataNote.byCSV/byJSON/byJEXIS; der Processor der
+  LingoLibry benötigt dafür den gesamten Text als String (max. 2 GB)
+* für große Dateien daher besser streamend verarbeiten:
+  CSVReader.rows, NexusEvents.events, NexusEvents.parseLines (jeweils mit Path)
+
+Beispiel:
+    DataNote DN = NexusFiles.byCSV(Path.of("Surnames.txt"));
+*/
+public final class NexusFiles
+{
+    private NexusFiles() {}
+
+    /** Reader über die eingeblendete UTF-8-Datei (mit 'close' schließen) */
+    public static Reader reader(Path File) throws IOException
+    { return new MappedReader(File); }
+
+    // ### Komplettes Parsing ###
+
+    public static DataNote parse(Processor Proc, Path File) throws IOException
+    { return parse(Proc, File, Processor.IdentTrans); }
+    public static DataNote parse
+    (Processor Proc, Path File, BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans)
+    throws IOException
+    { return Proc.parse(text(File), Trans); }
+
+    public static DataNote parse(CSVProcessor Proc, Path File, CharSequence Header) throws IOException
+    { return parse(Proc, File, Header, Processor.IdentTrans); }
+    public static DataNote parse
+    (CSVProcessor Proc, Path File, CharSequence Header,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans) throws IOException
+    { return Proc.parse(text(File), Header, Trans); }
+
+    public static DataNote byCSV(Path File) throws IOException
+    { return DataNote.byCSV(text(File)); }
+    public static DataNote byJSON(Path File) throws IOException
+    { return DataNote.byJSON(text(File)); }
+    public static DataNote byJEXIS(Path File) throws IOException
+    { return DataNote.byJEXIS(text(File)); }
+
+    // Liest den gesamten Dateitext (Processor.parse benötigt ohnehin einen String;
+    // Files.readString dekodiert UTF-8 dafür ohne weitere Zwischenkopie)
+    static String text(Path File) throws IOException
+    {
+        long Size = Files.size(File);
+        if (Size <= Integer.MAX_VALUE-8)
+            return Files.readString(File);
+        else throw new IOException("File too large for complete parsing (use streaming): "+File);
+    }
+}
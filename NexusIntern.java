@@ -0,0 +1,121 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import static lingolava.Nexus.*;
+
+/*
+Gemeinsamer Interning-Cache für simplexe DataNotes über mehrere Parsings hinweg:
+
+* Processor.parse poolt gleiche Daten nur innerhalb eines Parsings (eigener
+  Pool pro Aufruf); bei vielen kleinen Datensätzen mit gleichen Keys und
+  Werten (z.B. "Code", "Name", true, kleine Zahlen) entstehen so in jedem
+  Datensatz neue, gleiche DataNotes
+* NexusIntern ist selbst eine Transformation (Trans) und wird wie jede
+  Trans beim Parsing angegeben (Processor.parse, CSVReader, CSVParallel,
+  NexusEvents.parseLines, NexusFiles.parse); simplexe Keys/Werte werden
+  dabei durch die erste gleiche Instanz aus dem Cache ersetzt, d.h. die
+  geparsten Daten teilen sich diese Instanzen (weniger Speicher, schnelle
+  equals-Vergleiche per Identität)
+* begrenzt (LRU pro Stripe, d.h. näherungsweise global), thread-sicher
+  über gesperrte Stripes (z.B. für CSVParallel), mit Zählern für
+  Treffer/Fehlschläge/Verdrängungen
+* eine weitere Transformation kann per 'with' vorgeschaltet werden
+
+Beispiel:
+    NexusIntern Cache = new NexusIntern(1 << 14);
+    for (String Record : Records) DataNote DN = JP.parse(Record, Cache);
+    System.out.println(Cache.hits()+" / "+Cache.misses());
+*/
+public final class NexusIntern implements BiFunction<DataNote, Boolean, DataNote>
+{
+    static private final int DeflCapacity = 1 << 12;
+    static private final int StripeCount = 16;      // Zweierpotenz
+
+    // Stripe: LRU-Map (Zugriffsreihenfolge) mit eigener Kapazität
+    static private final class Stripe extends LinkedHashMap<DataNote, DataNote>
+    {
+        static private final long serialVersionUID = 1L;
+        private final int Capacity;
+        private final LongAdder Evictions;
+        Stripe(int Capacity, LongAdder Evictions)
+        { super(16, 0.75f, true); this.Capacity = Capacity; this.Evictions = Evictions; }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<DataNote, DataNote> Eldest)
+        {
+            boolean Full = this.size() > this.Capacity;
+            if (Full) this.Evictions.increment();
+            return Full;
+        }
+    }
+
+    private final Stripe[] Stripes = new Stripe[StripeCount];
+    private final LongAdder Hits = new LongAdder(), Misses = new LongAdder(), Evictions = new LongAdder();
+
+    public NexusIntern()
+    { this(DeflCapacity); }
+    public NexusIntern(int Capacity)
+    {
+        if (Capacity >= StripeCount)
+            for (int X = 0; X < StripeCount; X++)
+                this.Stripes[X] = new Stripe(Capacity/StripeCount, this.Evictions);
+        else throw new IllegalArgumentException("Capacity below "+StripeCount+": "+Capacity);
+    }
+
+    // ### Interning ###
+
+    /** Liefert die gecachte gleiche Instanz (simplexe Notes) bzw. die Note selbst */
+    public DataNote intern(DataNote Note)
+    {
+        if (Note != null && Note.isSimplex())
+        {
+            int Hash = Note.hashCode();
+            Stripe S = this.Stripes[(Hash ^ Hash >>> 16) & (StripeCount-1)];
+            DataNote Cached;
+            synchronized (S)
+            {
+                Cached = S.get(Note);
+                if (Cached == null) S.put(Note, Note);
+            }
+            if (Cached != null) { this.Hits.increment(); return Cached; }
+            else { this.Misses.increment(); return Note; }
+        }
+        else return Note;
+    }
+
+    @Override
+    public DataNote apply(DataNote Note, Boolean Tagy)
+    { return this.intern(Note); }
+
+    /** Transformation mit vorgeschalteter Trans (deren Ergebnis wird gecacht) */
+    public BiFunction<DataNote, Boolean, DataNote> with
+    (BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans)
+    { return (Note, Tagy) -> this.intern(Trans.apply(Note, Tagy)); }
+
+    // ### Statistik ###
+
+    public long hits()
+    { return this.Hits.sum(); }
+    public long misses()
+    { return this.Misses.sum(); }
+    public long evictions()
+    { return this.Evictions.sum(); }
+
+    /** Aktuelle Anzahl gecachter Notes */
+    public int size()
+    {
+        int N = 0;
+        for (Stripe S : this.Stripes) synchronized (S) { N += S.size(); }
+        return N;
+    }
+
+    /** Leert den Cache (Zähler bleiben erhalten) */
+    public void clear()
+    { for (Stripe S : this.Stripes) synchronized (S) { S.clear(); } }
+
+    @Override
+    public String toString()
+    { return "{Size="+this.size()+", Hits="+this.hits()+", Misses="+this.misses()+", Evictions="+this.evictions()+"}"; }
+}
@@ -0,0 +1,181 @@
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static lingolava.Nexus.*;
+
+/*
+Hilfsklasse für die Markierungszeichen (DataMarks) eines Nexus-Processors:
+
+* Die Marks eines Processors sind in der LingoLibry nicht öffentlich abfragbar
+  und werden daher über das öffentliche Verhalten des Processors ermittelt:
+  kleine Proben werden per present ausgegeben (die Marks stehen an festen
+  Positionen) und per parse zurückgelesen (Probe muss gleich bleiben)
+* CSV: Sepr, Terms, Stri und Escp aus Proben wie [["a","b"],["c","d"]];
+  JSON/JEXIS: Tabl, Stri, Asso, Arry und Sepr aus {"k":[1,2]}, Escp, Char
+  und Optn aus eigenen Proben (NonMark, wenn der Processor den Typ nicht
+  ausgibt, z.B. Char in JSON); Comm per Probe-Parsing unter ASCII-Satzzeichen
+* passt eine Probe nicht zum erwarteten Aufbau, wird eine
+  IllegalArgumentException geworfen (keine Annahmen über Standard-Marks)
+* Whitespace ist nur als Prädikat konfiguriert (nicht ausgebbar) und wird daher
+  pro Code-Punkt einmalig per Probe-Parsing ermittelt und zwischengespeichert
+*/
+final class NexusMarks
+{
+    static final int NonMark = Processor.DataMarks.NonMark;
+
+    final int
+        SeprMark, AssoMark, StriMark, CharMark, EscpMark, CommMark,
+        ArryMark1, ArryMark2, OptnMark1, OptnMark2, TablMark1, TablMark2;
+    final int[] Terms;                  // Zeilenterminatoren in Originalreihenfolge (CSV)
+
+    private final Processor Proc;
+    private final BitSet Termz = new BitSet();      // Terms als Lookup
+    private final Map<Integer, Boolean> Whisps = new ConcurrentHashMap<>();
+    private final byte[] Asciis = new byte[128];    // ASCII-Cache: 0 unbekannt, 1 ja, 2 nein
+
+    NexusMarks(Processor Proc)
+    {
+        this.Proc = Proc;
+        if (Proc instanceof CSVProcessor)
+        {
+            // a<Sepr>b<Terms>c<Sepr>d<Terms>
+            int[] Rows = this.probe(List.of(List.of("a", "b"), List.of("c", "d")));
+            int C = indexOf(Rows, 'c');
+            this.expect(Rows.length == 2*C && C >= 4 && Rows[0] == 'a' && Rows[2] == 'b', Rows);
+            this.SeprMark = Rows[1];
+            this.Terms = Arrays.copyOfRange(Rows, 3, C);
+            // <Stri>a<Sepr>b<Stri><Terms>
+            int[] Stri = this.probe(List.of(List.of("a"+Character.toString(this.SeprMark)+"b")));
+            this.expect(Stri.length > 5 && Stri[1] == 'a' && Stri[4] == Stri[0], Stri);
+            this.StriMark = Stri[0];
+            // <Stri>x<Escp><Stri>y<Stri><Terms> (ohne Escp verdoppelt: <Stri>x<Stri><Stri>y...)
+            int[] Escp = this.probe(List.of(List.of("x"+Character.toString(this.StriMark)+"y")));
+            this.expect(Escp.length > 6 && Escp[1] == 'x' && Escp[3] == this.StriMark && Escp[4] == 'y', Escp);
+            this.EscpMark = (Escp[2] != this.StriMark) ? Escp[2] : NonMark;
+            this.AssoMark = NonMark; this.CharMark = NonMark; this.CommMark = NonMark;
+            this.ArryMark1 = NonMark; this.ArryMark2 = NonMark;
+            this.OptnMark1 = NonMark; this.OptnMark2 = NonMark;
+            this.TablMark1 = NonMark; this.TablMark2 = NonMark;
+        }
+        else
+        {
+            // <Tabl1><Stri>k<Stri><Asso><Arry1>1<Sepr>2<Arry2><Tabl2>
+            int[] Tabl = this.probe(Map.of("k", List.of(1, 2)));
+            this.expect(Tabl.length == 11 && Tabl[2] == 'k' && Tabl[3] == Tabl[1] &&
+                        Tabl[6] == '1' && Tabl[8] == '2', Tabl);
+            this.TablMark1 = Tabl[0]; this.StriMark = Tabl[1]; this.AssoMark = Tabl[4];
+            this.ArryMark1 = Tabl[5]; this.SeprMark = Tabl[7];
+            this.ArryMark2 = Tabl[9]; this.TablMark2 = Tabl[10];
+            this.Terms = new int[0];
+            // <Arry1><Stri>x<Escp><Stri>y<Stri><Arry2>
+            int[] Escp = this.probe(List.of("x"+Character.toString(this.StriMark)+"y"));
+            this.expect(Escp.length == 8 && Escp[2] == 'x' && Escp[4] == this.StriMark && Escp[5] == 'y', Escp);
+            this.EscpMark = Escp[3];
+            // <Arry1><Char>x<Char><Arry2>
+            int[] Char = this.probe(List.of('x'));
+            this.expect(Char == null || Char.length == 5 && Char[2] == 'x' && Char[3] == Char[1], Char);
+            this.CharMark = (Char != null) ? Char[1] : NonMark;
+            // <Optn1>1<Optn2>
+            int[] Optn = this.probe(Set.of(1));
+            this.expect(Optn == null || Optn.length == 3 && Optn[1] == '1', Optn);
+            this.OptnMark1 = (Optn != null) ? Optn[0] : NonMark;
+            this.OptnMark2 = (Optn != null) ? Optn[2] : NonMark;
+            this.CommMark = (Proc instanceof JSONProcessor) ? NonMark : this.comment();
+        }
+        for (int T : this.Terms) this.Termz.set(T);
+    }
+
+    // Gibt eine Probe kompakt aus und liest sie zurück (null, wenn der Processor den Typ nicht ausgibt)
+    private int[] probe(Object Data)
+    {
+        DataNote Note = new DataNote(Data);
+        String Text;
+        try { Text = this.Proc.present(Note, false); }
+        catch (RuntimeException Unsupported) { return null; }
+        DataNote Back;
+        try { Back = this.Proc.parse(Text); }
+        catch (RuntimeException Exce) { throw new IllegalArgumentException("Processor marks not probeable: "+Text, Exce); }
+        this.expect(Back.equals(Note), Text.codePoints().toArray());
+        return Text.codePoints().toArray();
+    }
+
+    // Comm: erstes ASCII-Satzzeichen (kein anderer Mark), das <Comm>x<Comm> vor einem Datum überliest
+    private int comment()
+    {
+        int[] Used = {this.SeprMark, this.AssoMark, this.StriMark, this.CharMark, this.EscpMark,
+                      this.ArryMark1, this.ArryMark2, this.OptnMark1, this.OptnMark2, this.TablMark1, this.TablMark2};
+        for (int C = 0x21; C < 0x7F; C++)
+            if (!Character.isLetterOrDigit(C) && indexOf(Used, C) < 0)
+            {
+                String M = Character.toString(C);
+                try { if (this.Proc.parse(M+"x"+M+"null").isNull()) return C; }
+                catch (RuntimeException Ignored) {}
+            }
+        return NonMark;
+    }
+
+    private void expect(boolean Valid, int[] Codes)
+    {
+        if (!Valid)
+            throw new IllegalArgumentException("Unexpected processor marks in probe "+
+                ((Codes != null) ? new String(Codes, 0, Codes.length) : "null")+": "+this.Proc);
+    }
+
+    static private int indexOf(int[] Codes, int Code)
+    {
+        for (int X = 0; X < Codes.length; X++)
+            if (Codes[X] == Code) return X;
+        return -1;
+    }
+
+    static boolean isMark(int Code)
+    { return Code != NonMark; }
+
+    boolean isTerm(int Code)
+    { return Code >= 0 && this.Termz.get(Code); }
+
+    String termText()                   // Zeilenterminatoren als Text (z.B. CRLF)
+    { return new String(this.Terms, 0, this.Terms.length); }
+
+    // true, wenn Code ein unquotiertes (simplexes) Datum beendet
+    boolean delimits(int Code)
+    {
+        return Code == this.SeprMark || Code == this.AssoMark ||
+               Code == this.StriMark || Code == this.CharMark || Code == this.CommMark ||
+               Code == this.ArryMark1 || Code == this.ArryMark2 ||
+               Code == this.OptnMark1 || Code == this.OptnMark2 ||
+               Code == this.TablMark1 || Code == this.TablMark2 ||
+               this.isWhisp(Code);
+    }
+
+    // true, wenn Code vom Processor als Whitespace überlesen wird
+    // (Probe: Whitespace vor einem Datum ändert das Parsing-Ergebnis nicht)
+    boolean isWhisp(int Code)
+    {
+        if (Code >= 0 && Code < 128)
+        {
+            if (this.Asciis[Code] == 0) this.Asciis[Code] = (byte)(this.probe(Code) ? 1 : 2);
+            return this.Asciis[Code] == 1;
+        }
+        else return this.probe(Code);
+    }
+    private boolean probe(int Code)
+    {
+        return this.Whisps.computeIfAbsent(Code, C ->
+        {
+            if (this.isTerm(C) || C == this.SeprMark || C == this.StriMark) return false;
+            try
+            {
+                String W = Character.toString(C);
+                return (this.Proc instanceof CSVProcessor)
+                       ? this.Proc.parse(W+"A").equals(this.Proc.parse("A"))
+                       : this.Proc.parse(W+"null").isNull();
+            }
+            catch (RuntimeException Ignored) { return false; }
+        });
+    }
+}
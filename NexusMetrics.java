@@ -0,0 +1,283 @@
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+import static lingolava.Nexus.*;
+import static lingolava.Nexus.DataNote.*;
+
+/*
+Instrumentierung von Processor-Aufrufen (Metrics-Listener und JFR-Events):
+
+* Processor.parse/present sind von außen nicht beobachtbar; bei langsamen
+  Ingest-Jobs bleibt offen, ob die Zeit im Parsen, in Trans-Funktionen oder
+  im Presenting steckt
+* NexusMetrics umhüllt einen Processor mit gleichen parse/present-Aufrufen
+  und meldet pro Aufruf einen Report an alle Listener bzw. als JFR-Event
+  "lingolava.nexus.Operation" (standardmäßig aus, per JFR-Einstellung
+  lingolava.nexus.Operation#enabled=true einzuschalten)
+* Report: Bytes (UTF-8) und Code-Punkte des Textes, Notes pro DataType
+  (inkl. Table-Keys) und maximale Tiefe (Wurzel = 0), Aufrufe und Zeit der
+  Trans-Funktion, Pool-Treffer (bei NexusIntern als Trans), Gesamtzeit;
+  Processor.IdentTrans wird unverändert übergeben (0 Aufrufe, 0 ns)
+* Phasen: Data = Zeit im Processor ohne Trans (Tokenizing/Units intern im
+  Processor, nicht weiter trennbar); CSV mit Header direkt per
+  CSVProcessor.parse(Chars, Header, Trans)
+* ohne Listener und ohne aktive JFR-Aufzeichnung wird direkt delegiert
+  (kein Zählen, keine Zeitmessung, kein Zusatz-Objekt); die Notes werden
+  nur gezählt, wenn ein Listener den Report erhält oder das Event
+  aufgezeichnet wird
+
+Beispiel:
+    NexusMetrics Metrics = new NexusMetrics(new CSVProcessor()).listen(R -> System.out.println(R));
+    DataNote Rows = Metrics.parse(Files.readString(Path.of("Sales.csv")), "", new NexusIntern());
+*/
+public final class NexusMetrics
+{
+    static private final EventType OperationType = EventType.getEventType(OperationEvent.class);
+
+    /** Empfänger der Reports (synchron im aufrufenden Thread) */
+    @FunctionalInterface
+    public interface Listener
+    { void report(Report Report); }
+
+    /** Messwerte eines parse/present-Aufrufs (Zeiten in ns, Notes pro DataType) */
+    public record Report
+    (String Operation, String Processor, long Bytes, long Codes, Map<DataType, Long> Notes, int MaxDepth,
+     long PoolHits, long TransCalls, long TransNanos, long DataNanos, long TotalNanos)
+    {
+        public long notes()
+        { return this.Notes.values().stream().mapToLong(Long::longValue).sum(); }
+        public long coreNanos()
+        { return this.TotalNanos - this.TransNanos; }
+    }
+
+    /** JFR-Event pro parse/present-Aufruf (Felder wie Report) */
+    @Name("lingolava.nexus.Operation")
+    @Label("Nexus Operation")
+    @Category({"Lingolava", "Nexus"})
+    @Description("Parse or present call of a Nexus processor")
+    @StackTrace(false)
+    @Enabled(false)
+    static final class OperationEvent extends Event
+    {
+        @Label("Operation") String Operation;
+        @Label("Processor") String Processor;
+        @Label("Bytes") @DataAmount long Bytes;
+        @Label("Code Points") long Codes;
+        @Label("Notes") long Notes;
+        @Label("Void Notes") long Voids;
+        @Label("Boole Notes") long Booles;
+        @Label("Char Notes") long Chars;
+        @Label("Label Notes") long Labels;
+        @Label("Number Notes") long Numbers;
+        @Label("String Notes") long Strings;
+        @Label("Array Notes") long Arrays;
+        @Label("Option Notes") long Options;
+        @Label("Table Notes") long Tables;
+        @Label("Max Depth") int MaxDepth;
+        @Label("Pool Hits") long PoolHits;
+        @Label("Trans Calls") long TransCalls;
+        @Label("Trans Time") @Timespan long TransNanos;
+        @Label("Data Time") @Timespan long DataNanos;
+    }
+
+    // Zeitmessende Hülle einer Trans-Funktion (pro Aufruf, nicht thread-sicher)
+    static private final class TimedTrans implements BiFunction<DataNote, Boolean, DataNote>
+    {
+        private final BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans;
+        private long Calls = 0, Nanos = 0;
+
+        TimedTrans(BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans)
+        { this.Trans = Trans; }
+
+        @Override
+        public DataNote apply(DataNote Note, Boolean Tagy)
+        {
+            long Start = System.nanoTime();
+            try { return this.Trans.apply(Note, Tagy); }
+            finally { this.Nanos += System.nanoTime() - Start; this.Calls++; }
+        }
+    }
+
+    private final Processor Proc;
+    private final List<Listener> Listeners = new CopyOnWriteArrayList<>();
+
+    // ### Konstruktoren/Listener ###
+
+    public NexusMetrics(Processor Proc)
+    { this.Proc = Objects.requireNonNull(Proc, "Processor null"); }
+
+    public Processor processor()
+    { return this.Proc; }
+
+    public NexusMetrics listen(Listener Listener)
+    { this.Listeners.add(Objects.requireNonNull(Listener, "Listener null")); return this; }
+
+    public NexusMetrics unlisten(Listener Listener)
+    { this.Listeners.remove(Listener); return this; }
+
+    // true, wenn Reports benötigt werden (Listener oder aktive JFR-Aufzeichnung)
+    private boolean active()
+    { return !this.Listeners.isEmpty() || OperationType.isEnabled(); }
+
+    // An den Processor übergebene Trans (IdentTrans ungemessen, damit der Processor sie erkennt)
+    static private BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> timed
+    (BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans, TimedTrans Timed)
+    { return (Trans == Processor.IdentTrans) ? Trans : Timed; }
+
+    // ### Parsing ###
+
+    public DataNote parse(CharSequence Chars)
+    { return this.parse(Chars, Processor.IdentTrans); }
+
+    public DataNote parse(CharSequence Chars, BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans)
+    {
+        if (!this.active()) return this.Proc.parse(Chars, Trans);
+
+        OperationEvent Event = new OperationEvent(); Event.begin();
+        TimedTrans Timed = new TimedTrans(Trans);
+        long Hits = hits(Trans), Start = System.nanoTime();
+        DataNote Note = this.Proc.parse(Chars, timed(Trans, Timed));
+        long Total = System.nanoTime() - Start;
+        this.report(Event, "parse", Chars, Note, hits(Trans) - Hits, Timed, Total - Timed.Nanos, Total);
+        return Note;
+    }
+
+    /** CSV mit Header (null, "" oder externe Header-Zeile) wie CSVProcessor.parse(Chars, Header) */
+    public DataNote parse(CharSequence Chars, CharSequence Header)
+    { return this.parse(Chars, Header, Processor.IdentTrans); }
+
+    public DataNote parse
+    (CharSequence Chars, CharSequence Header, BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans)
+    {
+        if (this.Proc instanceof CSVProcessor CP)
+        {
+            if (Header == null) return this.parse(Chars, Trans);
+            if (!this.active()) return CP.parse(Chars, Header, Trans);
+
+            OperationEvent Event = new OperationEvent(); Event.begin();
+            TimedTrans Timed = new TimedTrans(Trans);
+            long Hits = hits(Trans), Start = System.nanoTime();
+            DataNote Note = CP.parse(Chars, Header, timed(Trans, Timed));
+            long Total = System.nanoTime() - Start;
+            this.report(Event, "parse", Chars, Note, hits(Trans) - Hits, Timed, Total - Timed.Nanos, Total);
+            return Note;
+        }
+        else throw new IllegalArgumentException("Header requires a CSVProcessor");
+    }
+
+    // ### Presenting ###
+
+    public String present(DataNote Note)
+    { return this.present(Note, Processor.IdentTrans, false); }
+
+    public String present(DataNote Note, boolean Formatted)
+    { return this.present(Note, Processor.IdentTrans, Formatted); }
+
+    public String present
+    (DataNote Note, BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans, boolean Formatted)
+    {
+        if (!this.active()) return this.Proc.present(Note, Trans, Formatted);
+
+        OperationEvent Event = new OperationEvent(); Event.begin();
+        TimedTrans Timed = new TimedTrans(Trans);
+        long Hits = hits(Trans), Start = System.nanoTime();
+        String Text = this.Proc.present(Note, timed(Trans, Timed), Formatted);
+        long Total = System.nanoTime() - Start;
+        this.report(Event, "present", Text, Note, hits(Trans) - Hits, Timed, Total - Timed.Nanos, Total);
+        return Text;
+    }
+
+    // ### Reports ###
+
+    static private long hits(BiFunction<?, ?, ?> Trans)
+    { return (Trans instanceof NexusIntern Pool) ? Pool.hits() : 0; }
+
+    private void report
+    (OperationEvent Event, String Operation, CharSequence Chars, DataNote Note, long Hits, TimedTrans Trans,
+     long DataNanos, long TotalNanos)
+    {
+        Event.end();
+        boolean Commit = Event.shouldCommit();
+        if (!Commit && this.Listeners.isEmpty()) return;   // z.B. Event-Schwelle nicht erreicht
+
+        long Bytes = 0, Codes = 0;
+        for (int X = 0; X < Chars.length(); X++)
+        {
+            char C = Chars.charAt(X);
+            if (Character.isHighSurrogate(C) && X+1 < Chars.length() && Character.isLowSurrogate(Chars.charAt(X+1)))
+            { Bytes += 4; X++; }
+            else Bytes += (C < 0x80) ? 1 : (C < 0x800) ? 2 : 3;
+            Codes++;
+        }
+
+        long[] Counts = new long[DataType.values().length];
+        int MaxDepth = 0;
+        Deque<DataNote> Notes = new ArrayDeque<>();
+        Deque<Integer> Depths = new ArrayDeque<>();
+        Notes.push(Note); Depths.push(0);
+        while (!Notes.isEmpty())
+        {
+            DataNote Next = Notes.pop();
+            int Depth = Depths.pop();
+            Counts[Next.retType().ordinal()]++;
+            MaxDepth = Math.max(MaxDepth, Depth);
+            switch (Next.retType())
+            {
+                case Array -> { for (DataNote Item : Next.asList(Function.identity())) { Notes.push(Item); Depths.push(Depth+1); } }
+                case Option -> { for (DataNote Item : Next.asSet(Function.identity())) { Notes.push(Item); Depths.push(Depth+1); } }
+                case Table ->
+                {
+                    for (Map.Entry<DataNote, DataNote> Item : Next.asMap(Function.identity(), Function.identity()).entrySet())
+                    {
+                        Notes.push(Item.getKey()); Depths.push(Depth+1);
+                        Notes.push(Item.getValue()); Depths.push(Depth+1);
+                    }
+                }
+                default -> {}
+            }
+        }
+        Map<DataType, Long> Types = new EnumMap<>(DataType.class);
+        for (DataType Type : DataType.values())
+            if (Counts[Type.ordinal()] > 0) Types.put(Type, Counts[Type.ordinal()]);
+
+        Report Report = new Report(Operation, this.Proc.getClass().getSimpleName(), Bytes, Codes,
+                                   Collections.unmodifiableMap(Types), MaxDepth, Hits,
+                                   Trans.Calls, Trans.Nanos, DataNanos, TotalNanos);
+        for (Listener Listener : this.Listeners)
+            Listener.report(Report);
+
+        if (Commit)
+        {
+            Event.Operation = Operation; Event.Processor = Report.Processor();
+            Event.Bytes = Bytes; Event.Codes = Codes; Event.Notes = Report.notes();
+            Event.Voids = Counts[DataType.Void.ordinal()]; Event.Booles = Counts[DataType.Boole.ordinal()];
+            Event.Chars = Counts[DataType.Char.ordinal()]; Event.Labels = Counts[DataType.Label.ordinal()];
+            Event.Numbers = Counts[DataType.Number.ordinal()]; Event.Strings = Counts[DataType.String.ordinal()];
+            Event.Arrays = Counts[DataType.Array.ordinal()]; Event.Options = Counts[DataType.Option.ordinal()];
+            Event.Tables = Counts[DataType.Table.ordinal()];
+            Event.MaxDepth = MaxDepth; Event.PoolHits = Hits;
+            Event.TransCalls = Trans.Calls; Event.TransNanos = Trans.Nanos;
+            Event.DataNanos = DataNanos;
+            Event.commit();
+        }
+    }
+}
@@ -0,0 +1,432 @@
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.function.Function;
+
+import static lingolava.Nexus.*;
+import static lingolava.Nexus.DataNote.*;
+
+/*
+Primitive Zahlen-Zugriffe (double/long/int) auf DataNotes ohne Exceptions:
+
+* DataNote.asNumber(true/false) erzeugt bei jedem Aufruf aus dem Text einen
+  String und daraus ein Double bzw. BigDecimal (Fehler per Exception-Handling),
+  z.B. teuer bei asList(Nt -> Nt.asNumber(true).doubleValue()) über Millionen Zellen
+* NexusNumbers scannt die Code-Punkte der Note direkt (handgeschriebener
+  Scanner wie CSVTypes): kein String, keine Exception, kein
+  BigDecimal/BigInteger; long-Werte werden direkt aus den Ziffern
+  abgeschnitten, double-Werte für bis zu 18 signifikante Ziffern und
+  Zehnerexponenten bis 22 exakt berechnet (sonst per Double.parseDouble
+  des bereits geprüften Textes)
+* die Werte werden pro Note-Instanz gecacht (direkt adressiert per
+  Identität, höchstens 4096 Notes, z.B. für per NexusIntern geteilte
+  Notes): weitere Zugriffe auf dieselbe Note sind allokationsfrei; der
+  erste Zugriff muss die Code-Punkte kopieren (asMemo ist die einzige
+  öffentliche Sicht auf den Text einer Note in der LingoLibry)
+* unterstützt auch die XtraNumb-Formen: 1_024, [±]Infinity/NaN sowie
+  0b/0q/0o/0x-Präfixe (auch ganzzahlig, z.B. 0x1F, und mit binärem
+  Exponenten P, dessen Ziffern wie die Mantisse zur Basis des Präfixes sind)
+* Boole liefert 0/1 (wie asNumber), sonst (String, Void, komplex) den Default;
+  asLong/asInt schneiden Nachkommastellen ab (Default außerhalb des Wertebereichs)
+* asDoubleArray/asLongArray liefern die Items einer Array-Note als primitives
+  Array (null für andere Typen wie DataNote.asList)
+* intern: parseWhole liefert ganzzahlige Werte exakt (ohne Umweg über
+  double), decimal den exakten BigDecimal-Wert auch der Präfix-Formen
+  (z.B. für DataBinder und NexusPostgres)
+
+Beispiel:
+    double[] D = NexusNumbers.asDoubleArray(XP.parse("[1_024, 0x400P0, NaN]"), Double.NaN);
+*/
+public final class NexusNumbers
+{
+    static private final int MaxExp = 1 << 20;      // Exponent-Sättigung (weit außerhalb von double)
+    static private final long MaxExact = 1L << 53;  // Mantissen bis hier exakt als double
+    static private final int CacheSize = 1 << 12;   // Zweierpotenz
+    static private final int MaxShift = 1 << 16;    // exakte Binärexponenten (decimal)
+    static private final double[] Tens =
+        {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+         1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    // Gecachte Werte einer Number-Note (Dbly/Lngy: Wert vorhanden, sonst gilt der Default)
+    private record Numb(DataNote Note, double Dbl, boolean Dbly, long Lng, boolean Lngy) {}
+
+    // Direkt adressierter Cache (Slot per Identitäts-Hash, Einträge unveränderlich,
+    // daher ohne Sperren; eine Kollision verdrängt den alten Eintrag)
+    static private final Numb[] Cache = new Numb[CacheSize];
+
+    private NexusNumbers() {}
+
+    // ### Einzelwerte ###
+
+    public static double asDouble(DataNote Note, double Default)
+    {
+        return switch (Note.retType())
+        {
+            case Boole -> Note.asBoole() ? 1 : 0;
+            case Number -> { Numb N = numb(Note); yield N.Dbly() ? N.Dbl() : Default; }
+            default -> Default;
+        };
+    }
+
+    public static long asLong(DataNote Note, long Default)
+    {
+        return switch (Note.retType())
+        {
+            case Boole -> Note.asBoole() ? 1 : 0;
+            case Number -> { Numb N = numb(Note); yield N.Lngy() ? N.Lng() : Default; }
+            default -> Default;
+        };
+    }
+
+    public static int asInt(DataNote Note, int Default)
+    {
+        long L = asLong(Note, Integer.MAX_VALUE+1L);    // Fehler wie Werte außerhalb int
+        return (L == (int)L) ? (int)L : Default;
+    }
+
+    // ### Arrays ###
+
+    public static double[] asDoubleArray(DataNote Note, double Default)
+    {
+        if (Note.retType() == DataType.Array)
+        {
+            List<DataNote> Items = Note.asList(Function.identity());
+            double[] Arry = new double[Items.size()];
+            for (int X = 0; X < Arry.length; X++) Arry[X] = asDouble(Items.get(X), Default);
+            return Arry;
+        }
+        else return null;
+    }
+
+    public static long[] asLongArray(DataNote Note, long Default)
+    {
+        if (Note.retType() == DataType.Array)
+        {
+            List<DataNote> Items = Note.asList(Function.identity());
+            long[] Arry = new long[Items.size()];
+            for (int X = 0; X < Arry.length; X++) Arry[X] = asLong(Items.get(X), Default);
+            return Arry;
+        }
+        else return null;
+    }
+
+    // Werte einer Number-Note aus dem Cache bzw. einmalig gescannt (0/1-Defaults unterscheiden
+    // einen Fehler vom Wert 0, der zweite Scan nur beim Ergebnis 0)
+    static private Numb numb(DataNote Note)
+    {
+        int Slot = System.identityHashCode(Note) & (CacheSize-1);
+        Numb N = Cache[Slot];
+        if (N == null || N.Note() != Note)
+        {
+            Memo T = new Memo(Note.asMemo());
+            double D = parseDouble(T, 0);
+            long L = parseLong(T, 0);
+            N = new Numb(Note, D, D != 0 || parseDouble(T, 1) == 0, L, L != 0 || parseLong(T, 1) == 0);
+            Cache[Slot] = N;
+        }
+        return N;
+    }
+
+    // ### Scanner ###
+
+    // double-Wert eines (getrimmten) Zahl-Textes (NaN wenn keine Zahl)
+    static double parseDouble(CharSequence Text)
+    { return parseDouble(Text, Double.NaN); }
+
+    // double-Wert eines Zahl-Textes: dezimal, Infinity/NaN oder mit 0b/0q/0o/0x-Präfix
+    static double parseDouble(CharSequence T, double Default)
+    {
+        int Y = T.length(), X = sign(T);
+        boolean Minus = X > 0 && T.charAt(0) == '-';
+        if (equals(T, X, "Infinity")) return Minus ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        else if (equals(T, X, "NaN")) return Double.NaN;
+        int Radix = radix(T, X);
+        if (Radix > 0)
+            return Double.longBitsToDouble(radixed(T, X+2, Radix, Minus, false, false, Double.doubleToRawLongBits(Default)));
+
+        // Ziffern (ohne führende Nullen) bis 18 signifikante in M, weitere nur gezählt
+        long M = 0;
+        int Sig = 0, Scale = 0;
+        boolean Sticky = false;
+        int Z = X, I = digits(T, X, Y, 10);
+        if (I == X) return Default;
+        for (; Z < I; Z++)
+        {
+            int D = T.charAt(Z) - '0';
+            if (D > 9) continue;                        // Unterstrich
+            if (Sig < 18) { M = 10*M + D; if (M > 0) Sig++; }
+            else { Scale++; Sticky |= D != 0; }
+        }
+        if (Z < Y && T.charAt(Z) == '.')
+        {
+            int F = digits(T, ++Z, Y, 10);
+            if (F == Z) return Default;
+            for (; Z < F; Z++)
+            {
+                int D = T.charAt(Z) - '0';
+                if (D > 9) continue;
+                if (Sig < 18) { M = 10*M + D; Scale--; if (M > 0) Sig++; }
+                else Sticky |= D != 0;
+            }
+        }
+        long E = 0;
+        if (Z < Y && (T.charAt(Z) == 'e' || T.charAt(Z) == 'E'))
+        {
+            int Q = sign(T, ++Z), W = digits(T, Q, Y, 10);
+            if (W == Q) return Default;
+            E = exponent(T, Q, W, 10, Q > Z && T.charAt(Z) == '-');
+            Z = W;
+        }
+        if (Z != Y) return Default;
+
+        long E10 = E + Scale;
+        double V;
+        if (M == 0) V = 0;
+        else if (!Sticky && M <= MaxExact && Math.abs(E10) <= 22)   // exakt (Clinger)
+            V = (E10 >= 0) ? M * Tens[(int)E10] : M / Tens[(int)-E10];
+        else V = slow(T, X, Y);                         // seltene Formen, Text bereits geprüft
+        return Minus ? -V : V;
+    }
+
+    // long-Wert eines Zahl-Textes (Nachkommastellen abgeschnitten, Default außerhalb long)
+    static long parseLong(CharSequence T, long Default)
+    { return parseLong(T, false, Default); }
+
+    // long-Wert eines ganzzahligen Zahl-Textes (z.B. 12, 1.0, 1e3, 0x1p4; sonst Default)
+    static long parseWhole(CharSequence T, long Default)
+    { return parseLong(T, true, Default); }
+
+    static private long parseLong(CharSequence T, boolean Whole, long Default)
+    {
+        int Y = T.length(), X = sign(T);
+        boolean Minus = X > 0 && T.charAt(0) == '-';
+        int Radix = radix(T, X);
+        if (Radix > 0) return radixed(T, X+2, Radix, Minus, true, Whole, Default);
+
+        int I = digits(T, X, Y, 10), F = I, Z = I, Int = 0;
+        if (I == X) return Default;
+        for (int W = X; W < I; W++) if (T.charAt(W) != '_') Int++;
+        if (Z < Y && T.charAt(Z) == '.')
+        {
+            F = digits(T, ++Z, Y, 10);
+            if (F == Z) return Default;
+            Z = F;
+        }
+        long E = 0;
+        if (Z < Y && (T.charAt(Z) == 'e' || T.charAt(Z) == 'E'))
+        {
+            int Q = sign(T, ++Z), W = digits(T, Q, Y, 10);
+            if (W == Q) return Default;
+            E = exponent(T, Q, W, 10, Q > Z && T.charAt(Z) == '-');
+            Z = W;
+        }
+        if (Z != Y) return Default;
+
+        // ganzzahliger Teil = die ersten Int+E Ziffern (negativ akkumuliert, inkl. Long.MIN_VALUE)
+        long Take = Int + E, V = 0;
+        int W = X;
+        for (; W < F && Take > 0; W++)
+        {
+            int D = T.charAt(W) - '0';
+            if (D < 0 || D > 9) continue;               // Punkt bzw. Unterstrich
+            if (V < Long.MIN_VALUE/10 || 10*V < Long.MIN_VALUE+D) return Default;
+            V = 10*V - D; Take--;
+        }
+        if (Whole)                                      // abgeschnittene Ziffern müssen Nullen sein
+            for (; W < F; W++)
+                if (T.charAt(W) > '0' && T.charAt(W) <= '9') return Default;
+        for (; Take > 0 && V != 0; Take--)              // fehlende Ziffern sind Nullen
+            if (V < Long.MIN_VALUE/10) return Default;
+            else V *= 10;
+        return Minus ? V : (V != Long.MIN_VALUE) ? -V : Default;
+    }
+
+    // Zahl zur Basis 2/4/8/16 ab X: Ziffern[.Ziffern][P[±]Exponent] (Exponent zur gleichen Basis,
+    // Wert Mantisse * 2^Exponent); liefert den abgeschnittenen (Whole: ganzzahligen) long-Wert (Lngy)
+    // bzw. die Bits des double-Werts, Default bei ungültigem Text; Mantisse bis 63 Bit exakt, danach Sticky-Bit
+    static private long radixed
+    (CharSequence T, int X, int Radix, boolean Minus, boolean Lngy, boolean Whole, long Default)
+    {
+        int Y = T.length(), Bits = Integer.numberOfTrailingZeros(Radix);
+        long Mant = 0, Shift = 0;
+        boolean Sticky = false;
+        int Z = X, I = digits(T, X, Y, Radix);
+        if (I == X) return Default;
+        for (; Z < I; Z++)
+        {
+            int D = Character.digit(T.charAt(Z), Radix);
+            if (D < 0) continue;
+            if (Mant < 1L << (63-Bits)) Mant = Mant << Bits | D;
+            else { Shift += Bits; Sticky |= D != 0; }
+        }
+        if (Z < Y && T.charAt(Z) == '.')
+        {
+            int F = digits(T, ++Z, Y, Radix);
+            if (F == Z) return Default;
+            for (; Z < F; Z++)
+            {
+                int D = Character.digit(T.charAt(Z), Radix);
+                if (D < 0) continue;
+                if (Mant < 1L << (63-Bits)) { Mant = Mant << Bits | D; Shift -= Bits; }
+                else Sticky |= D != 0;
+            }
+        }
+        if (Z < Y && (T.charAt(Z) == 'p' || T.charAt(Z) == 'P'))
+        {
+            int Q = sign(T, ++Z), W = digits(T, Q, Y, Radix);
+            if (W == Q) return Default;
+            Shift += exponent(T, Q, W, Radix, Q > Z && T.charAt(Z) == '-');
+            Z = W;
+        }
+        if (Z != Y) return Default;
+        Shift = Math.max(-MaxExp, Math.min(MaxExp, Shift));
+
+        if (Lngy)
+        {
+            long L;
+            int Len = 64-Long.numberOfLeadingZeros(Mant);
+            if (Whole && (Sticky || Shift < 0 && (Shift <= -Len ? Mant != 0 : (Mant & ((1L << -Shift)-1)) != 0)))
+                return Default;                         // Nachkommabits
+            if (Mant == 0 || Shift <= -Len) L = 0;
+            else if (Shift < 0) L = Mant >>> -Shift;
+            else if (Len+Shift < 64) L = Mant << Shift;
+            else if (Minus && !Sticky && Len+Shift == 64 && Mant == Long.lowestOneBit(Mant)) return Long.MIN_VALUE;
+            else return Default;
+            return Minus ? -L : L;
+        }
+        else
+        {
+            double V = Math.scalb((double)(Sticky ? Mant | 1 : Mant), (int)Shift);
+            return Double.doubleToRawLongBits(Minus ? -V : V);
+        }
+    }
+
+    // Vorzeichen am Anfang bzw. ab X überspringen
+    static private int sign(CharSequence T)
+    { return sign(T, 0); }
+    static private int sign(CharSequence T, int X)
+    { return (X < T.length() && (T.charAt(X) == '-' || T.charAt(X) == '+')) ? X+1 : X; }
+
+    static private int radix(CharSequence T, int X)
+    {
+        if (T.length() > X+2 && T.charAt(X) == '0')
+            return switch (T.charAt(X+1))
+            {
+                case 'b', 'B' -> 2;
+                case 'q', 'Q' -> 4;
+                case 'o', 'O' -> 8;
+                case 'x', 'X' -> 16;
+                default -> 0;
+            };
+        else return 0;
+    }
+
+    static private boolean equals(CharSequence T, int X, String Word)
+    {
+        if (T.length()-X != Word.length()) return false;
+        for (int Z = 0; Z < Word.length(); Z++)
+            if (T.charAt(X+Z) != Word.charAt(Z)) return false;
+        return true;
+    }
+
+    // Ende einer Ziffernfolge ab X (Unterstriche nach der ersten Ziffer)
+    static private int digits(CharSequence T, int X, int Y, int Radix)
+    {
+        int Z = X;
+        while (Z < Y)
+        {
+            char C = T.charAt(Z);
+            if (C < 128 && Character.digit(C, Radix) >= 0) Z++;
+            else if (C == '_' && Z > X) Z++;
+            else break;
+        }
+        return Z;
+    }
+
+    // Exponent aus Ziffern [X, Y) zur Basis Radix (gesättigt bei ±MaxExp)
+    static private long exponent(CharSequence T, int X, int Y, int Radix, boolean Minus)
+    {
+        long E = 0;
+        for (int Z = X; Z < Y; Z++)
+        {
+            int D = Character.digit(T.charAt(Z), Radix);
+            if (D >= 0) E = Math.min(MaxExp, E*Radix + D);
+        }
+        return Minus ? -E : E;
+    }
+
+    // double per Double.parseDouble (nur für geprüfte Dezimaltexte außerhalb des exakten Bereichs)
+    static private double slow(CharSequence T, int X, int Y)
+    {
+        StringBuilder SB = new StringBuilder(Y-X);
+        for (int Z = X; Z < Y; Z++)
+            if (T.charAt(Z) != '_') SB.append(T.charAt(Z));
+        return Double.parseDouble(SB.toString());
+    }
+
+    // ### Exakte Werte ###
+
+    // Exakter Wert eines (getrimmten) Zahl-Textes: dezimal bzw. 0b/0q/0o/0x (Mantisse * 2^Exponent,
+    // Exponent zur Basis des Präfixes); null für Infinity/NaN, ungültige Texte und
+    // Binärexponenten außerhalb MaxShift
+    static BigDecimal decimal(String Text)
+    {
+        String T = Text.replace("_", "");
+        if (CSVTypes.classify(T, false) == DataType.Number) return new BigDecimal(T);
+        else if (CSVTypes.classify(T, true) != DataType.Number) return null;
+        int X = sign(T), Radix = radix(T, X);
+        if (Radix == 0) return null;                    // Infinity/NaN
+        int Bits = Integer.numberOfTrailingZeros(Radix);
+        String Digits = T.substring(X+2);
+        int P = Math.max(Digits.indexOf('p'), Digits.indexOf('P'));
+        long Shift = 0;
+        if (P >= 0)
+        {
+            String Exp = Digits.substring(P+1);
+            int E = sign(Exp);
+            while (E < Exp.length()-1 && Exp.charAt(E) == '0') E++;
+            if (Exp.length()-E > 60/Bits) return null;  // weit außerhalb MaxShift
+            Shift = Long.parseLong(Exp.substring(E), Radix);
+            if (Exp.charAt(0) == '-') Shift = -Shift;
+            Digits = Digits.substring(0, P);
+        }
+        int Dot = Digits.indexOf('.');
+        if (Dot >= 0)
+        {
+            Shift -= (long)Bits * (Digits.length()-Dot-1);
+            Digits = Digits.substring(0, Dot)+Digits.substring(Dot+1);
+        }
+        if (Math.abs(Shift) > MaxShift) return null;
+        BigInteger Mant = new BigInteger(Digits, Radix);
+        if (T.charAt(0) == '-') Mant = Mant.negate();
+        return (Shift >= 0) ? new BigDecimal(Mant.shiftLeft((int)Shift))
+                            : new BigDecimal(Mant.multiply(BigInteger.valueOf(5).pow((int)-Shift)), (int)-Shift);
+    }
+
+    // Code-Punkte einer Note als CharSequence (Zahlen sind ASCII; andere Codes als U+FFFF)
+    private record Memo(List<Integer> Codes) implements CharSequence
+    {
+        @Override
+        public int length()
+        { return this.Codes.size(); }
+
+        @Override
+        public char charAt(int X)
+        {
+            int Code = this.Codes.get(X);
+            return (Code < 0x10000) ? (char)Code : '\uFFFF';
+        }
+
+        @Override
+        public CharSequence subSequence(int X, int Y)
+        { return new Memo(this.Codes.subList(X, Y)); }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder SB = new StringBuilder(this.Codes.size());
+            for (int Code : this.Codes) SB.appendCodePoint(Code);
+            return SB.toString();
+        }
+    }
+}
@@ -0,0 +1,318 @@
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import static lingolava.Nexus.*;
+import static lingolava.Nexus.DataNote.*;
+
+/*
+Streamende Brücke zwischen DataNotes und PostgreSQL (pgjdbc, lib/postgresql-42.7.1.jar):
+
+* Export: statt kompletter 2D-Note => asCSV() => ein String für COPY werden
+  Zeilen (Array- bzw. Table-Notes, z.B. von CSVReader.rows) einzeln im
+  COPY-Format (TEXT oder CSV, passend zu "COPY ... FROM STDIN (FORMAT ...)")
+  kodiert und in Blöcken von BatchRows Zeilen per CopyIn.writeToCopy gesendet
+* Werte: Void => NULL, Boole => true/false, Number exakt (ganzzahlige Werte
+  als Integer-Text, z.B. 0x1F => 31 oder 1E3 => 1000, andere als Dezimaltext,
+  z.B. 0x1P-1 => 0.5; Infinity/NaN unverändert), Char/Label/String als Text,
+  komplexe Werte (Array/Table) als JSON-Text (z.B. für json/jsonb-Spalten);
+  Table-Zeilen liefern ihre Werte in Key-Reihenfolge (Spaltenliste im COPY-Befehl)
+* leere Strings (z.B. leere CSV-Felder) standardmäßig als NULL (wie COPY aus
+  einer CSV-Datei), per Empty.STRING als leerer Text ''
+* bei Fehlern wird die COPY-Operation abgebrochen (cancelCopy), d.h. keine
+  Teilimporte; der CopyIn-Einstieg ist ohne Datenbank testbar (eigene CopyIn)
+* Import: ResultSet => lazy Stream von Table-Notes (Keys = Spalten-Labels,
+  doppelte Labels => IllegalArgumentException, z.B. per AS eindeutig machen); mit FetchSize liest pgjdbc per Cursor blockweise (nur bei AutoCommit false)
+* Werte: NULL => Void, Boolean => Boole, Ganzzahlen/Gleitkomma/Numeric =>
+  Number, sonst Text per getString (Datum, UUID, JSON usw.) => String
+* SQLExceptions beim Streamen werden als BridgeException (mit Ursache) geworfen
+
+Beispiel:
+    try (Stream<DataNote> Rows = CSVReader.rows(new CSVProcessor(), Path.of("Sales.csv")))
+    { NexusPostgres.copyIn(Conn, "COPY sales FROM STDIN (FORMAT csv)", Rows, NexusPostgres.Format.CSV, 10_000); }
+    try (Stream<DataNote> Rows = NexusPostgres.rows(Conn, "SELECT * FROM sales", 1_000))
+    { Rows.forEach(System.out::println); }
+*/
+public final class NexusPostgres
+{
+    static private final int DeflBatchRows = 1 << 12;   // Zeilen pro writeToCopy
+    static private final int MaxPlain = 1 << 10;        // ganzzahlige Werte bis hier ohne Exponent
+    static private final JSONProcessor JSON = new JSONProcessor();
+
+    /** COPY-Formate (text bzw. csv, jeweils mit Standard-Delimiter, -NULL und -Quote) */
+    public enum Format { TEXT, CSV }
+
+    /** Leere Strings als NULL bzw. als leerer Text */
+    public enum Empty { NULL, STRING }
+
+    /** Ungeprüfte Hülle für SQLExceptions beim Streamen */
+    static public final class BridgeException extends RuntimeException
+    {
+        static private final long serialVersionUID = 1L;
+
+        BridgeException(SQLException Cause)
+        { super(Cause.getMessage(), Cause); }
+    }
+
+    private NexusPostgres() {}
+
+    // ### Export (COPY ... FROM STDIN) ###
+
+    public static long copyIn(Connection Conn, String Sql, Stream<DataNote> Rows, Format Form) throws SQLException
+    { return copyIn(Conn, Sql, Rows, Form, DeflBatchRows); }
+    public static long copyIn(Connection Conn, String Sql, Stream<DataNote> Rows, Format Form, int BatchRows)
+    throws SQLException
+    { return copyIn(Conn, Sql, Rows, Form, BatchRows, Empty.NULL); }
+    public static long copyIn
+    (Connection Conn, String Sql, Stream<DataNote> Rows, Format Form, int BatchRows, Empty Blank)
+    throws SQLException
+    { return copyIn(Conn.unwrap(PGConnection.class).getCopyAPI().copyIn(Sql), Rows.iterator(), Form, BatchRows, Blank); }
+
+    /** CSV-Zeilen eines Readers (Header wie CSVReader: null, "" oder externe Header-Zeile) */
+    public static long copyIn
+    (Connection Conn, String Sql, CSVProcessor Proc, Reader Input, CharSequence Header, Format Form, int BatchRows)
+    throws SQLException
+    {
+        try (Stream<DataNote> Rows = CSVReader.rows(Proc, Input, Header))
+        { return copyIn(Conn, Sql, Rows, Form, BatchRows); }
+    }
+
+    public static long copyIn(CopyIn Copy, Iterator<DataNote> Rows, Format Form, int BatchRows) throws SQLException
+    { return copyIn(Copy, Rows, Form, BatchRows, Empty.NULL); }
+
+    /** Sendet alle Zeilen an eine offene COPY-Operation und beendet sie (Anzahl laut Server) */
+    public static long copyIn(CopyIn Copy, Iterator<DataNote> Rows, Format Form, int BatchRows, Empty Blank)
+    throws SQLException
+    {
+        try
+        {
+            if (BatchRows <= 0) throw new IllegalArgumentException("Batch size must be positive");
+            StringBuilder Batch = new StringBuilder();
+            int Count = 0;
+            while (Rows.hasNext())
+            {
+                encode(Rows.next(), Form, Blank, Batch);
+                if (++Count == BatchRows)
+                { write(Copy, Batch); Count = 0; }
+            }
+            write(Copy, Batch);
+            return Copy.endCopy();
+        }
+        catch (SQLException | RuntimeException Exce)
+        {
+            if (Copy.isActive())
+                try { Copy.cancelCopy(); }
+                catch (SQLException Supp) { Exce.addSuppressed(Supp); }
+            throw Exce;
+        }
+    }
+
+    static private void write(CopyIn Copy, StringBuilder Batch) throws SQLException
+    {
+        if (!Batch.isEmpty())
+        {
+            byte[] Bytes = Batch.toString().getBytes(StandardCharsets.UTF_8);
+            Copy.writeToCopy(Bytes, 0, Bytes.length);
+            Batch.setLength(0);
+        }
+    }
+
+    // Kodiert eine Zeile (Array oder Table) im COPY-Format inkl. Zeilenende
+    static void encode(DataNote Row, Format Form, Empty Blank, StringBuilder Out)
+    {
+        Iterable<DataNote> Values = switch (Row.retType())
+        {
+            case Array -> Row.asList(Function.identity());
+            case Table -> Row.asMap(Function.identity(), Function.identity()).values();
+            default -> throw new IllegalArgumentException("Row must be Array or Table: "+Row.retType());
+        };
+        boolean First = true;
+        for (DataNote Value : Values)
+        {
+            if (!First) Out.append((Form == Format.TEXT) ? '\t' : ',');
+            First = false;
+            String Text = (Value.retType() != DataType.Void) ? value(Value) : null;
+            if (Text == null || Text.isEmpty() && Blank == Empty.NULL)
+                { if (Form == Format.TEXT) Out.append("\\N"); }  // CSV: NULL = unquotiert leer
+            else if (Form == Format.TEXT)
+                text(Text, Out);
+            else csv(Text, Out);
+        }
+        Out.append('\n');
+    }
+
+    // Feldtext eines nicht-leeren Wertes
+    static private String value(DataNote Value)
+    {
+        return switch (Value.retType())
+        {
+            case Boole -> Value.asBoole() ? "true" : "false";
+            case Number -> exact(Value.asString());
+            case Array, Table, Option -> JSON.present(Value);
+            default -> Value.asString();
+        };
+    }
+
+    // TEXT-Format: Backslash-Escapes für Backslash, Tab, CR und LF
+    static private void text(String Text, StringBuilder Out)
+    {
+        for (int X = 0; X < Text.length(); X++)
+        {
+            char C = Text.charAt(X);
+            switch (C)
+            {
+                case '\\' -> Out.append("\\\\");
+                case '\t' -> Out.append("\\t");
+                case '\r' -> Out.append("\\r");
+                case '\n' -> Out.append("\\n");
+                default -> Out.append(C);
+            }
+        }
+    }
+
+    // CSV-Format: quotiert bei Separator, Quote, CR/LF, leerem Text (≠ NULL) und "\."
+    static private void csv(String Text, StringBuilder Out)
+    {
+        boolean Quote = Text.isEmpty() || Text.equals("\\.");
+        for (int X = 0; !Quote && X < Text.length(); X++)
+        {
+            char C = Text.charAt(X);
+            Quote = C == ',' || C == '"' || C == '\r' || C == '\n';
+        }
+        if (Quote)
+        {
+            Out.append('"');
+            for (int X = 0; X < Text.length(); X++)
+            {
+                char C = Text.charAt(X);
+                if (C == '"') Out.append('"');
+                Out.append(C);
+            }
+            Out.append('"');
+        }
+        else Out.append(Text);
+    }
+
+    // Exakter Zahl-Text: ganzzahlig ohne Nachkommastellen bzw. Exponent (bis MaxPlain Stellen),
+    // sonst dezimal; Infinity/NaN (und Binärexponenten außerhalb MaxShift) per double
+    static private String exact(String Text)
+    {
+        String T = Text.strip().replace("_", "");
+        BigDecimal Value = NexusNumbers.decimal(T);
+        if (Value == null) return Double.toString(NexusNumbers.parseDouble(T));
+        BigDecimal Whole = Value.stripTrailingZeros();
+        if (Whole.scale() <= 0 && Whole.precision()-Whole.scale() <= MaxPlain) return Whole.toPlainString();
+        else return Value.toString();
+    }
+
+    // ### Import (ResultSet) ###
+
+    /** Führt die Abfrage aus (FetchSize Zeilen pro Cursor-Block) und streamt die Zeilen;
+     Stream.close schließt ResultSet und Statement */
+    public static Stream<DataNote> rows(Connection Conn, String Sql, int FetchSize) throws SQLException
+    {
+        Statement Stmt = Conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try
+        {
+            Stmt.setFetchSize(FetchSize);
+            ResultSet Result = Stmt.executeQuery(Sql);
+            return rows(Result).onClose(() -> close(Stmt));
+        }
+        catch (SQLException | RuntimeException Exce)
+        { Stmt.close(); throw Exce; }
+    }
+
+    public static Stream<DataNote> rows(ResultSet Result, int FetchSize) throws SQLException
+    { Result.setFetchSize(FetchSize); return rows(Result); }
+
+    /** Lazy Stream der Zeilen als Table-Notes (Stream.close schließt das ResultSet) */
+    public static Stream<DataNote> rows(ResultSet Result) throws SQLException
+    {
+        ResultSetMetaData Meta = Result.getMetaData();
+        int N = Meta.getColumnCount();
+        DataNote[] Labels = new DataNote[N];
+        int[] Types = new int[N];
+        Set<DataNote> Seen = new HashSet<>();
+        for (int X = 0; X < N; X++)
+        {
+            Labels[X] = new DataNote(Meta.getColumnLabel(X+1));
+            Types[X] = Meta.getColumnType(X+1);
+            if (!Seen.add(Labels[X]))
+                throw new IllegalArgumentException("Duplicate column label "+Meta.getColumnLabel(X+1)+
+                                                   " (Table keys must be unique, e.g. per AS)");
+        }
+
+        int Flags = Spliterator.ORDERED | Spliterator.NONNULL;
+        Spliterator<DataNote> Rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Flags)
+        {
+            @Override
+            public boolean tryAdvance(Consumer<? super DataNote> Action)
+            {
+                try
+                {
+                    if (!Result.next()) return false;
+                    Map<DataNote, DataNote> Tabl = new LinkedHashMap<>();
+                    for (int X = 0; X < N; X++)
+                        Tabl.put(Labels[X], note(Result, X+1, Types[X]));
+                    Action.accept(new DataNote(Tabl));
+                    return true;
+                }
+                catch (SQLException Exce)
+                { throw new BridgeException(Exce); }
+            }
+        };
+        return StreamSupport.stream(Rows, false).onClose(() -> close(Result));
+    }
+
+    // Spaltenwert als simplexe DataNote nach JDBC-Typ
+    static private DataNote note(ResultSet Result, int Column, int Type) throws SQLException
+    {
+        DataNote Note = switch (Type)
+        {
+            case Types.BOOLEAN, Types.BIT ->
+            { boolean Value = Result.getBoolean(Column); yield Result.wasNull() ? null : new DataNote(Value); }
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT ->
+            { long Value = Result.getLong(Column); yield Result.wasNull() ? null : new DataNote(Value); }
+            case Types.REAL, Types.FLOAT, Types.DOUBLE ->
+            { double Value = Result.getDouble(Column); yield Result.wasNull() ? null : new DataNote(Value); }
+            case Types.NUMERIC, Types.DECIMAL ->         // Text statt getBigDecimal (auch NaN/Infinity)
+            { String Value = Result.getString(Column); yield (Value == null) ? null : number(Value); }
+            default ->
+            { String Value = Result.getString(Column); yield (Value == null) ? null : new DataNote(Value); }
+        };
+        return (Note != null) ? Note : new DataNote();
+    }
+
+    static private DataNote number(String Text)
+    {
+        try { return new DataNote(new BigDecimal(Text)); }
+        catch (NumberFormatException Exce) { return new DataNote(Double.parseDouble(Text)); }
+    }
+
+    static private void close(AutoCloseable Resource)
+    {
+        try { Resource.close(); }
+        catch (SQLException Exce) { throw new BridgeException(Exce); }
+        catch (Exception Exce) { throw new IllegalStateException(Exce); }
+    }
+}
@@ -0,0 +1,310 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import lingolava.Legacy;
+import static lingolava.Nexus.*;
+import static lingolava.Nexus.DataNote.*;
+
+/*
+Streamende Ausgabe (Präsentation) von DataNotes in einen Writer/Appendable:
+
+* Processor.present baut pro komplexem Datum einen eigenen String auf und
+  kopiert ihn in den umgebenden (d.h. einmal pro Verschachtelungsebene);
+  die gesamte Ausgabe liegt am Ende als ein String im Speicher
+* NexusWriter schreibt dagegen in einem Durchlauf direkt in das Ziel
+  (z.B. Writer, StringBuilder): Marks, Separatoren und Einrückungen werden
+  sofort geschrieben, simplexe Daten per Processor präsentiert
+* gleiche Ausgabe wie Processor.present (Trans, Terms, Indents, Pads,
+  Format) inkl. Prüfung doppelter Keys (als String) und der Key-Typen (per
+  Probe-Table je Typ, z.B. JSON: nur String-Keys); bei Fehlern wird die
+  Exception des Processors erzeugt, bereits Geschriebenes bleibt jedoch stehen
+* CSV wird zeilenweise geschrieben (je Zeile per CSVProcessor präsentiert);
+  Table-Zeilen nur mit externem Header (wie CSVProcessor.present)
+
+Beispiel:
+    try (Writer Out = Files.newBufferedWriter(Path.of("Daten.json")))
+    { NexusWriter.present(new JSONProcessor(), Note, Out, true); }
+*/
+public final class NexusWriter
+{
+    static private final String FormatTerms = "\r\n", FormatIndts = "  ";
+    static private final List<String>
+        FormatPads0 = List.of("", ""),
+        FormatPads1 = List.of("", " ");
+    static private final DataNote
+        NullText = new DataNote("null"),                    // Füllwert bei fehlenden Spalten (CSV)
+        ProbeNote = new DataNote(List.of(List.of("")));     // kleinste gültige CSV-Daten
+
+    private final Processor Proc;
+    private final NexusMarks Marks;
+    private final DataNote Root;
+    private final BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans;
+    private final String Term, Indt, SeprPad0, SeprPad1, AssoPad0, AssoPad1;
+    private final Set<DataType> KeyTypes = EnumSet.noneOf(DataType.class);     // vom Processor akzeptierte Key-Typen
+
+    private NexusWriter
+    (Processor Proc, DataNote Root, BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans,
+     String Term, String Indt, List<? extends CharSequence> Pads0, List<? extends CharSequence> Pads1)
+    {
+        this.Proc = Proc; this.Root = Root; this.Trans = Trans;
+        this.Marks = new NexusMarks(Proc);
+        this.Term = Term; this.Indt = Indt;
+        this.SeprPad0 = Pads0.get(0).toString(); this.SeprPad1 = Pads0.get(1).toString();
+        this.AssoPad0 = Pads1.get(0).toString(); this.AssoPad1 = Pads1.get(1).toString();
+    }
+
+    // ### JSON/JEXIS (und CSV per Processor-Überladungen) ###
+
+    public static void present(Processor Proc, DataNote Note, Appendable Out) throws IOException
+    { present(Proc, Note, Out, Processor.IdentTrans, false); }
+    public static void present
+    (Processor Proc, DataNote Note, Appendable Out,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans) throws IOException
+    { present(Proc, Note, Out, Trans, false); }
+    public static void present(Processor Proc, DataNote Note, Appendable Out, boolean Format) throws IOException
+    { present(Proc, Note, Out, Processor.IdentTrans, Format); }
+    public static void present
+    (Processor Proc, DataNote Note, Appendable Out,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans, boolean Format) throws IOException
+    {
+        if (Proc instanceof CSVProcessor CP)
+            present(CP, Note, Out, null, Trans, Format ? FormatPads1 : FormatPads0, Format);
+        else if (Format)
+            present(Proc, Note, Out, Trans, FormatTerms, FormatIndts, FormatPads1, FormatPads1);
+        else
+            present(Proc, Note, Out, Trans, "", "", FormatPads0, FormatPads0);
+    }
+    public static void present
+    (Processor Proc, DataNote Note, Appendable Out, CharSequence Terms, CharSequence Indts,
+     List<? extends CharSequence> Pads0, List<? extends CharSequence> Pads1) throws IOException
+    { present(Proc, Note, Out, Processor.IdentTrans, Terms, Indts, Pads0, Pads1); }
+    public static void present
+    (Processor Proc, DataNote Note, Appendable Out,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans,
+     CharSequence Terms, CharSequence Indts,
+     List<? extends CharSequence> Pads0, List<? extends CharSequence> Pads1) throws IOException
+    {
+        if (Note != null && Trans != null && Out != null)
+        {                               // Format-Prüfung (inkl. Exceptions) durch den Processor
+            Proc.present(new DataNote(), Processor.IdentTrans, Terms, Indts, Pads0, Pads1);
+            new NexusWriter(Proc, Note, Trans, Terms.toString(), Indts.toString(), Pads0, Pads1)
+                .unit(Out, Note, false, 0);
+        }
+        else throw new NullPointerException("Nulled data");
+    }
+
+    // Schreibt ein (transformiertes) Datum
+    private void unit(Appendable Out, DataNote Note, boolean Tagy, int Level) throws IOException
+    { this.write(Out, this.trans(Note, Tagy), Level); }
+
+    private void write(Appendable Out, DataNote Note, int Level) throws IOException
+    {
+        if (Note.isSimplex())
+            Out.append(this.Proc.present(Note, Processor.IdentTrans, "", "", FormatPads0, FormatPads0));
+        else this.complex(Out, Note, Level);
+    }
+
+    // Schreibt ein komplexes Datum analog Processor.presentComplex
+    private void complex(Appendable Out, DataNote Note, int Level) throws IOException
+    {
+        NexusMarks Marks = this.Marks;
+        DataType Type = Note.retType();
+        boolean
+            Arry = (Type == DataType.Array),
+            Tabl = (Type == DataType.Table),
+            Optn = (Type == DataType.Option);
+        String
+            Open = this.mark(Arry ? Marks.ArryMark1 : Tabl ? Marks.TablMark1 : Marks.OptnMark1),
+            Close = this.mark(Arry ? Marks.ArryMark2 : Tabl ? Marks.TablMark2 : Marks.OptnMark2);
+        if (!Note.isEmpty())
+        {
+            List<Map.Entry<DataNote, DataNote>> Items = new ArrayList<>(Note.extent());
+            if (Tabl)
+                Items.addAll(Note.asMap(Function.identity(), Function.identity()).entrySet());
+            else if (Optn)
+                for (DataNote Ky : Note.asSet(Function.identity())) Items.add(Map.entry(Ky, Ky));
+            else
+                for (DataNote Vl : Note.asList(Function.identity())) Items.add(Map.entry(NullText, Vl));
+            int N = Items.size(), X = 0;
+            String
+                Sepr = (N >= 2) ? this.SeprPad0+this.mark(Marks.SeprMark)+this.SeprPad1 : "",
+                Asso = Tabl ? this.AssoPad0+this.mark(Marks.AssoMark)+this.AssoPad1 : "",
+                Indt0 = this.Indt.repeat(Level++),
+                Indt1 = Indt0+this.Indt;
+            Set<String> Keys = Arry ? null : new HashSet<>();
+            Out.append(Indt0).append(Open).append(this.Term);
+            for (Map.Entry<DataNote, DataNote> Item : Items)
+            {
+                DataNote Ky = Item.getKey(), Vl = Item.getValue();
+                boolean                     // simplex oder leer (noch untransformiert)
+                    KySmpl = Ky.isSimplex() || Ky.isEmpty(),
+                    VlSmpl = Vl.isSimplex() || Vl.isEmpty(),
+                    Mixed = !(KySmpl && VlSmpl);
+                if (Tabl || Optn)           // Keys zur Prüfung auf Duplikate als String
+                {
+                    StringBuilder KT = new StringBuilder();
+                    DataNote Key = this.trans(Ky, true);
+                    if (Tabl) this.keyed(Key);
+                    this.write(KT, Key, Level);
+                    if (Keys.add(KT.toString())) Out.append(KySmpl ? Indt1 : "").append(KT);
+                    else this.raise();
+                }
+                if (Tabl) Out.append(Asso).append(Mixed ? this.Term : "");
+                if (Tabl || Arry)
+                {
+                    Out.append(VlSmpl && (!Tabl || !KySmpl) ? Indt1 : "");
+                    this.unit(Out, Vl, false, Level);
+                }
+                if (++X < N) Out.append(Sepr);
+                Out.append(this.Term);
+            }
+            Out.append(Indt0).append(Close);
+        }
+        else Out.append(Open).append(Close);
+    }
+
+    // Prüft den Typ eines (transformierten) Table-Keys wie der Processor (z.B. JSON: nur Strings),
+    // einmal pro Typ per Probe-Table mit diesem Key
+    private void keyed(DataNote Key)
+    {
+        DataType Type = Key.retType();
+        if (!this.KeyTypes.contains(Type))
+        {
+            try { this.Proc.present(new DataNote(Map.of(Key, NullText)), Processor.IdentTrans, "", "", FormatPads0, FormatPads0); }
+            catch (RuntimeException Exce) { this.raise(); }
+            this.KeyTypes.add(Type);
+        }
+    }
+
+    // Mark als Text (undefinierte Marks wie im Processor als Fehler)
+    private String mark(int Code)
+    {
+        if (Legacy.IsLegitCP.test(Code)) return Character.toString(Code);
+        else { this.raise(); return null; }
+    }
+
+    private DataNote trans(DataNote Note, boolean Tagy)
+    {
+        Note = this.Trans.apply(Note, Tagy);
+        if (Note != null) return Note;
+        else throw new NullPointerException("Nulled data by transformation");
+    }
+
+    // Erzeugt die Exception des Processors für die gesamte Ausgabe
+    private void raise()
+    {
+        List<String>
+            Pads0 = List.of(this.SeprPad0, this.SeprPad1),
+            Pads1 = List.of(this.AssoPad0, this.AssoPad1);
+        this.Proc.present(this.Root, this.Trans, this.Term, this.Indt, Pads0, Pads1);
+        throw new IllegalStateException("Inconsistent presentation");
+    }
+
+    // ### CSV ###
+
+    public static void present
+    (CSVProcessor Proc, DataNote Note, Appendable Out,
+     List<? extends CharSequence> Pads, boolean Format) throws IOException
+    { present(Proc, Note, Out, null, Processor.IdentTrans, Pads, Format); }
+    public static void present
+    (CSVProcessor Proc, DataNote Note, Appendable Out,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans,
+     List<? extends CharSequence> Pads, boolean Format) throws IOException
+    { present(Proc, Note, Out, null, Trans, Pads, Format); }
+    public static void present(CSVProcessor Proc, DataNote Note, Appendable Out, DataNote Header) throws IOException
+    { present(Proc, Note, Out, Header, Processor.IdentTrans, false); }
+    public static void present
+    (CSVProcessor Proc, DataNote Note, Appendable Out, DataNote Header, boolean Format) throws IOException
+    { present(Proc, Note, Out, Header, Processor.IdentTrans, Format); }
+    public static void present
+    (CSVProcessor Proc, DataNote Note, Appendable Out, DataNote Header,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans) throws IOException
+    { present(Proc, Note, Out, Header, Trans, false); }
+    public static void present
+    (CSVProcessor Proc, DataNote Note, Appendable Out, DataNote Header,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans, boolean Format) throws IOException
+    { present(Proc, Note, Out, Header, Trans, Format ? FormatPads1 : FormatPads0, Format); }
+
+    /** Schreibt CSV-Daten zeilenweise (Header null: Array-Zeilen, sonst Table-Zeilen mit Header-Keys) */
+    public static void present
+    (CSVProcessor Proc, DataNote Note, Appendable Out, DataNote Header,
+     BiFunction<? super DataNote, ? super Boolean, ? extends DataNote> Trans,
+     List<? extends CharSequence> Pads, boolean Format) throws IOException
+    {
+        if (Note != null && Trans != null && Pads != null && Out != null)
+        {
+            Proc.present(ProbeNote, Pads, Format);  // Format-Prüfung (inkl. Exceptions)
+            Runnable Raise = () ->                  // Exception des CSVProcessors erzeugen
+            {
+                if (Header != null) Proc.present(Note, Header, Trans, Pads, Format);
+                else Proc.present(Note, Trans, Pads, Format);
+                throw new IllegalStateException("Inconsistent presentation");
+            };
+            BiFunction<DataNote, Boolean, DataNote> Check = (Nt, Tg) ->
+            {
+                DataNote Rs = Trans.apply(Nt, Tg);
+                if (Rs != null) return Rs;
+                else throw new NullPointerException("Nulled data by transformation");
+            };
+
+            List<DataNote> Heads = null, HeadLine = null;
+            if (Header != null)
+                if (Header.retType() == DataType.Array && !Header.isEmpty())
+                { Heads = Header.asList(Function.identity()); HeadLine = new ArrayList<>(Heads.size()); }
+                else Raise.run();
+
+            DataNote Data = Check.apply(Note, false);
+            if (Data.retType() != DataType.Array || Data.isEmpty()) Raise.run();
+            boolean First = true;
+            for (DataNote Row : Data.asList(Function.identity()))
+            {
+                Row = Check.apply(Row, false);
+                List<DataNote> Items = new ArrayList<>();
+                if (Heads != null)
+                    if (Row.retType() == DataType.Table)
+                    {
+                        Map<DataNote, DataNote> Tabl = Row.asMap(Function.identity(), Function.identity());
+                        for (int X = 0; X < Heads.size(); X++)
+                        {
+                            DataNote
+                                Ky = Heads.get(X),
+                                Vl = Tabl.getOrDefault(Ky, NullText);
+                            Ky = Check.apply(Ky, true);
+                            Vl = Check.apply(Vl, false);
+                            if ((X < HeadLine.size()) ? Ky.equals(HeadLine.get(X))
+                                                      : (!HeadLine.contains(Ky) && HeadLine.add(Ky)))
+                                Items.add(Vl);
+                            else Raise.run();
+                        }
+                    }
+                    else Raise.run();
+                else if (Row.retType() == DataType.Array)
+                    for (DataNote Item : Row.asList(Function.identity()))
+                        Items.add(Check.apply(Item, false));
+                else Raise.run();
+                if (Items.isEmpty()) Raise.run();
+
+                try
+                {
+                    if (First && HeadLine != null) Out.append(line(Proc, HeadLine, Pads, Format));
+                    Out.append(line(Proc, Items, Pads, Format));
+                }
+                catch (RuntimeException Exce) { Raise.run(); }
+                First = false;
+            }
+        }
+        else throw new NullPointerException("Nulled data");
+    }
+
+    // Präsentiert eine einzelne CSV-Zeile inkl. Terminatoren
+    static private String line
+    (CSVProcessor Proc, List<DataNote> Items, List<? extends CharSequence> Pads, boolean Format)
+    { return Proc.present(new DataNote(List.of(new DataNote(Items))), Pads, Format); }
+}
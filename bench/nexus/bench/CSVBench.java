@@ -0,0 +1,63 @@
+package nexus.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import static lingolava.Nexus.*;
+
+/*
+CSVProcessor-Durchsatz auf breiten Tabellen (Datasets.csv):
+
+* parse ohne Header (2D-Array) bzw. mit Header-Zeile "" (Liste von Tables)
+* present kompakt bzw. formatiert (present(Note, true)) der geparsten Daten
+* Größe/Form per @Param (Rows, Cols, Unicode), Allokationen per -prof gc
+
+Beispiel:
+    mvn -B -Pbench verify -Djmh.args="CSVBench -p Cols=64 -prof gc"
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CSVBench
+{
+    @Param({"1000", "10000"})
+    public int Rows;
+
+    @Param({"8", "64"})
+    public int Cols;
+
+    @Param({"false", "true"})
+    public boolean Unicode;
+
+    private CSVProcessor Proc;
+    private String Text;
+    private DataNote Note;
+
+    @Setup
+    public void setup()
+    {
+        this.Proc = new CSVProcessor();
+        this.Text = Datasets.csv(this.Rows, this.Cols, this.Unicode);
+        this.Note = this.Proc.parse(this.Text);
+    }
+
+    @Benchmark
+    public DataNote parse()
+    { return this.Proc.parse(this.Text); }
+
+    @Benchmark
+    public DataNote parseHeader()
+    { return this.Proc.parse(this.Text, ""); }
+
+    @Benchmark
+    public String presentCompact()
+    { return this.Proc.present(this.Note); }
+
+    @Benchmark
+    public String presentFormatted()
+    { return this.Proc.present(this.Note, true); }
+}
@@ -0,0 +1,124 @@
+package nexus.bench;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/*
+Generierte, reproduzierbare Benchmark-Daten (fester Seed je Form/Größe):
+
+* csv:  breite CSV-Tabelle (Rows x Cols) mit Header-Zeile, gemischt aus
+  Zahlen, Booles, Wörtern und quotierten Texten mit Separator/Quotes
+* tree: tiefe JSON-Struktur als Java-Daten (Maps/Lists), Records Einträge mit
+  je Depth Ebenen; jede Ebene hat Breadth simplexe Felder und ein Kind
+  (abwechselnd Table/Array) => Größe ~ Records * Depth * Breadth
+* Unicode: Texte zusätzlich mit Zeichen außerhalb der BMP (Emojis wie
+  U+1F600/U+1F921 in Main, d.h. Surrogat-Paare im String)
+* paths: Pfade (Keys/Indizes) zum jeweils tiefsten Kind pro Record, passend
+  zu DataNote.at(List) bzw. at(List, Value)
+
+Beispiel:
+    String CSV = Datasets.csv(10_000, 64, true);
+    List<Object> Tree = Datasets.tree(1000, 16, 4, false);
+*/
+public final class Datasets
+{
+    static private final long Seed = 0x4E657875L;
+    static private final String[] Words = {"alpha", "beta", "gamma", "delta", "Straße", "Größe", "naïve"};
+    static private final String[] Emojis = {"😀", "🤡", "👽", "🌍", "🐞"};
+
+    private Datasets()
+    {}
+
+    // ### CSV ###
+
+    /** CSV-Text mit Header-Zeile (c0, c1, ...) und Rows Datenzeilen */
+    public static String csv(int Rows, int Cols, boolean Unicode)
+    {
+        SplittableRandom Random = new SplittableRandom(Seed ^ Rows * 31L ^ Cols);
+        StringBuilder Builder = new StringBuilder(Rows * Cols * 8);
+        for (int Col = 0; Col < Cols; Col++)
+            Builder.append((Col > 0) ? "," : "").append('c').append(Col);
+        for (int Row = 0; Row < Rows; Row++)
+        {
+            Builder.append("\r\n");
+            for (int Col = 0; Col < Cols; Col++)
+            {
+                if (Col > 0)
+                    Builder.append(',');
+                switch (Col % 4)
+                {
+                    case 0 -> Builder.append(Random.nextInt(1_000_000));
+                    case 1 -> Builder.append(Random.nextDouble() * 1000);
+                    case 2 -> Builder.append(text(Random, Unicode));
+                    default -> Builder.append('"').append(text(Random, Unicode))
+                                      .append(", \"\"").append(Random.nextBoolean()).append("\"\"\"");
+                }
+            }
+        }
+        return Builder.toString();
+    }
+
+    // ### Tree (JSON/JEXIS) ###
+
+    /** Liste von Records tiefer Maps/Lists (für DataNote-Konstruktion bzw. als JSON-Quelle) */
+    public static List<Object> tree(int Records, int Depth, int Breadth, boolean Unicode)
+    {
+        SplittableRandom Random = new SplittableRandom(Seed ^ Records * 31L ^ Depth * 7L ^ Breadth);
+        List<Object> Tree = new ArrayList<>(Records);
+        for (int Record = 0; Record < Records; Record++)
+            Tree.add(level(Random, Depth, Breadth, Unicode, true));
+        return Tree;
+    }
+
+    /** Pfade zum tiefsten Kind jedes Records (inkl. Record-Index) von tree(...) */
+    public static List<List<Object>> paths(int Records, int Depth, int Breadth)
+    {
+        List<List<Object>> Paths = new ArrayList<>(Records);
+        for (int Record = 0; Record < Records; Record++)
+        {
+            List<Object> Path = new ArrayList<>(Depth + 1);
+            Path.add(Record);
+            for (int Level = 1, Table = 1; Level < Depth; Level++, Table ^= 1)
+                Path.add((Table == 1) ? "child" : Breadth);
+            Paths.add(List.copyOf(Path));
+        }
+        return Paths;
+    }
+
+    // ### Helpers ###
+
+    static private Object level(SplittableRandom Random, int Depth, int Breadth, boolean Unicode, boolean Table)
+    {
+        List<Object> Values = new ArrayList<>(Breadth + 1);
+        for (int Index = 0; Index < Breadth; Index++)
+        {
+            Values.add(switch (Index % 3)
+            {
+                case 0 -> Random.nextInt(1_000_000);
+                case 1 -> text(Random, Unicode);
+                default -> Random.nextBoolean();
+            });
+        }
+        if (Depth > 1)
+            Values.add(level(Random, Depth - 1, Breadth, Unicode, !Table));
+        if (!Table)
+            return Values;
+
+        Map<String, Object> Map = new LinkedHashMap<>();
+        for (int Index = 0; Index < Breadth; Index++)
+            Map.put("k" + Index, Values.get(Index));
+        if (Depth > 1)
+            Map.put("child", Values.get(Breadth));
+        return Map;
+    }
+
+    static private String text(SplittableRandom Random, boolean Unicode)
+    {
+        String Word = Words[Random.nextInt(Words.length)];
+        return Unicode ? Word + Emojis[Random.nextInt(Emojis.length)] + Word
+                       : Word + Random.nextInt(100);
+    }
+}
@@ -0,0 +1,89 @@
+package nexus.bench;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static lingolava.Nexus.*;
+
+/*
+DataNote-Operationen auf tiefen Strukturen (Datasets.tree/paths):
+
+* construct: DataNote aus Java-Daten (Maps/Lists, rekursiv)
+* read/update: at(Path) bzw. at(Path, Value) bis zum tiefsten Kind jedes Records
+* equals: zwei gleiche, getrennt konstruierte Bäume (voller Vergleich)
+* hashSet: hashCode/equals aller Records beim Einfügen in ein HashSet
+* Größe/Form per @Param (Records, Depth, Breadth), Allokationen per -prof gc
+
+Beispiel:
+    mvn -B -Pbench verify -Djmh.args="NoteBench.read -p Depth=16 -prof gc"
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoteBench
+{
+    @Param({"100", "1000"})
+    public int Records;
+
+    @Param({"4", "16"})
+    public int Depth;
+
+    @Param({"4"})
+    public int Breadth;
+
+    private List<Object> Tree;
+    private List<List<Object>> Paths;
+    private DataNote Note;
+    private DataNote Copy;
+    private DataNote Value;
+
+    @Setup
+    public void setup()
+    {
+        this.Tree = Datasets.tree(this.Records, this.Depth, this.Breadth, false);
+        this.Paths = Datasets.paths(this.Records, this.Depth, this.Breadth);
+        this.Note = new DataNote(this.Tree);
+        this.Copy = new DataNote(Datasets.tree(this.Records, this.Depth, this.Breadth, false));
+        this.Value = new DataNote("updated");
+    }
+
+    @Benchmark
+    public DataNote construct()
+    { return new DataNote(this.Tree); }
+
+    @Benchmark
+    public void read(Blackhole Hole)
+    {
+        for (List<Object> Path : this.Paths)
+            Hole.consume(this.Note.at(Path));
+    }
+
+    @Benchmark
+    public DataNote update()
+    {
+        DataNote Note = this.Note;
+        for (List<Object> Path : this.Paths)
+            Note = Note.at(Path, this.Value);
+        return Note;
+    }
+
+    @Benchmark
+    public boolean equals()
+    { return this.Note.equals(this.Copy); }
+
+    @Benchmark
+    public int hashSet()
+    {
+        HashSet<DataNote> Set = new HashSet<>();
+        for (DataNote Record : this.Note.asList(DataNote.class))
+            Set.add(Record);
+        return Set.size();
+    }
+}
@@ -0,0 +1,65 @@
+package nexus.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import static lingolava.Nexus.*;
+
+/*
+JSONProcessor/JEXISProcessor-Durchsatz auf tiefen Strukturen (Datasets.tree):
+
+* Quelltext je Format per present des gleichen Baums (JEXIS damit inkl.
+  eigener Darstellung), parse sowie present kompakt bzw. formatiert
+* Größe/Form per @Param (Records, Depth, Breadth, Unicode), Allokationen per -prof gc
+
+Beispiel:
+    mvn -B -Pbench verify -Djmh.args="TreeBench -p Format=JEXIS -p Depth=16 -prof gc"
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TreeBench
+{
+    @Param({"JSON", "JEXIS"})
+    public String Format;
+
+    @Param({"100", "1000"})
+    public int Records;
+
+    @Param({"4", "16"})
+    public int Depth;
+
+    @Param({"4"})
+    public int Breadth;
+
+    @Param({"false", "true"})
+    public boolean Unicode;
+
+    private Processor Proc;
+    private String Text;
+    private DataNote Note;
+
+    @Setup
+    public void setup()
+    {
+        this.Proc = this.Format.equals("JEXIS") ? new JEXISProcessor() : new JSONProcessor();
+        this.Text = this.Proc.present(new DataNote(Datasets.tree(this.Records, this.Depth, this.Breadth, this.Unicode)));
+        this.Note = this.Proc.parse(this.Text);
+    }
+
+    @Benchmark
+    public DataNote parse()
+    { return this.Proc.parse(this.Text); }
+
+    @Benchmark
+    public String presentCompact()
+    { return this.Proc.present(this.Note); }
+
+    @Benchmark
+    public String presentFormatted()
+    { return this.Proc.present(this.Note, true); }
+}
@@ -0,0 +1,116 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import static lingolava.Nexus.*;
+import static lingolava.Nexus.DataNote.*;
+
+/*
+CSVParallel muss dasselbe liefern wie CSVProcessor.parse (mehrere Blöcke à 4096 Zeilen):
+gleiche 2D-Note bzw. dieselbe erste ProcessorException, Trans ohne Doppelaufrufe
+*/
+class CSVParallelTest
+{
+    static private final CSVProcessor Proc = new CSVProcessor();
+    static private final BiFunction<DataNote, Boolean, DataNote> Upper = (Note, Tagy) ->
+        (Note.retType() == DataType.String) ? new DataNote(Note.asString().toUpperCase()) : Note;
+
+    // Header-Zeile und Rows Datenzeilen (quotierte Felder mit Separator, Escapes und Quotes)
+    static private String csv(int Rows)
+    {
+        StringBuilder SB = new StringBuilder("Id,Name,Note");
+        for (int X = 0; X < Rows; X++)
+            SB.append("\r\n").append(X).append(",n").append(X).append(",\"a,b\\n\\\"").append(X % 7).append('"');
+        return SB.toString();
+    }
+
+    // Ersetzt Zeile Line (0 = Header) durch Text
+    static private String replace(String CSV, int Line, String Text)
+    {
+        String[] Lines = CSV.split("\r\n(?=\\d|$)", -1);
+        Lines[Line] = Text;
+        return String.join("\r\n", Lines);
+    }
+
+    static private RuntimeException sequential(String CSV, CharSequence Header,
+                                               BiFunction<DataNote, Boolean, DataNote> Trans)
+    {
+        return assertThrows(RuntimeException.class,
+                            () -> { if (Header != null) Proc.parse(CSV, Header, Trans); else Proc.parse(CSV, Trans); });
+    }
+
+    static private RuntimeException parallel(String CSV, CharSequence Header,
+                                             BiFunction<DataNote, Boolean, DataNote> Trans)
+    { return assertThrows(RuntimeException.class, () -> CSVParallel.parse(Proc, CSV, Header, Trans, 4)); }
+
+    @Test
+    void sameNoteAsParse()
+    {
+        String CSV = csv(10_000);
+        assertEquals(Proc.parse(CSV, "", Upper), CSVParallel.parse(Proc, CSV, "", Upper, 4));
+        assertEquals(Proc.parse(CSV, Upper), CSVParallel.parse(Proc, CSV, null, Upper, 4));
+        assertEquals(Proc.parse(CSV + "\r\n"), CSVParallel.parse(Proc, CSV + "\r\n", 4));
+    }
+
+    @Test
+    void sameNoteFromFile(@TempDir Path Dir) throws Exception
+    {
+        Path File = Files.writeString(Dir.resolve("Rows.csv"), csv(9_000));
+        assertEquals(Proc.parse(Files.readString(File), "", Upper), CSVParallel.parse(Proc, File, "", Upper, 4));
+    }
+
+    @Test
+    void sameFirstProcessorException()
+    {
+        String CSV = replace(replace(csv(10_000), 9_000, "1,\"x\"y,z"), 5_000, "1,\"x\"\"y\"z,0");
+        RuntimeException Seq = sequential(CSV, "", Processor.IdentTrans), Par = parallel(CSV, "", Processor.IdentTrans);
+        assertEquals(Seq.getClass(), Par.getClass());
+        assertEquals(Seq.getMessage(), Par.getMessage());
+        assertEquals(Seq.getMessage(), parallel(CSV, "", Upper).getMessage());
+    }
+
+    @Test
+    void sameExceptionFromFile(@TempDir Path Dir) throws Exception
+    {
+        String CSV = replace(csv(9_000), 8_000, "1,\"x\"y,z");
+        Path File = Files.writeString(Dir.resolve("Rows.csv"), CSV);
+        RuntimeException Par = assertThrows(RuntimeException.class,
+                                            () -> CSVParallel.parse(Proc, File, null, Processor.IdentTrans, 4));
+        assertEquals(sequential(CSV, null, Processor.IdentTrans).getMessage(), Par.getMessage());
+    }
+
+    @Test
+    void syntaxErrorBeforeTransError()
+    {
+        String CSV = replace(csv(10_000), 9_500, "1,\"x\"y,z");
+        AtomicInteger Calls = new AtomicInteger();
+        BiFunction<DataNote, Boolean, DataNote> Failing = (Note, Tagy) ->
+        {
+            Calls.incrementAndGet();
+            if (Note.retType() == DataType.String && Note.asString().equals("n10")) throw new IllegalStateException("n10");
+            return Note;
+        };
+        assertEquals(sequential(CSV, "", Failing).getMessage(), parallel(CSV, "", Failing).getMessage());
+        assertEquals(0, Calls.get());
+    }
+
+    @Test
+    void transExceptionUnchanged()
+    {
+        String CSV = csv(10_000);
+        IllegalStateException Fail = new IllegalStateException("n6000");
+        BiFunction<DataNote, Boolean, DataNote> Failing = (Note, Tagy) ->
+        {
+            if (Note.retType() == DataType.String && Note.asString().equals("n6000")) throw Fail;
+            return Note;
+        };
+        assertSame(Fail, parallel(CSV, "", Failing));
+        assertSame(Fail, sequential(CSV, "", Failing));
+    }
+}
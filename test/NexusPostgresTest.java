@@ -0,0 +1,209 @@
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.util.ByteStreamWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import static lingolava.Nexus.*;
+import static lingolava.Nexus.DataNote.*;
+
+/*
+NexusPostgres ohne Datenbank: COPY-Kodierung (TEXT/CSV) über eine eigene CopyIn,
+ResultSet-Import über ein Proxy-ResultSet
+*/
+class NexusPostgresTest
+{
+    static private final JSONProcessor Json = new JSONProcessor(true);
+
+    // CopyIn, die alle Blöcke sammelt (endCopy: Anzahl Zeilenenden)
+    static private final class Sink implements CopyIn
+    {
+        private final ByteArrayOutputStream Bytes = new ByteArrayOutputStream();
+        private int Writes = 0;
+        private boolean Active = true, Cancelled = false, Ended = false;
+
+        @Override public void writeToCopy(byte[] Data, int Off, int Size) { this.Bytes.write(Data, Off, Size); this.Writes++; }
+        @Override public void writeToCopy(ByteStreamWriter Writer) { throw new UnsupportedOperationException(); }
+        @Override public void flushCopy() {}
+        @Override public long endCopy() { this.Active = false; this.Ended = true; return this.text().chars().filter(C -> C == '\n').count(); }
+        @Override public void cancelCopy() { this.Active = false; this.Cancelled = true; }
+        @Override public boolean isActive() { return this.Active; }
+        @Override public int getFieldCount() { return 0; }
+        @Override public int getFormat() { return 0; }
+        @Override public int getFieldFormat(int Field) { return 0; }
+        @Override public long getHandledRowCount() { return -1; }
+
+        String text()
+        { return this.Bytes.toString(StandardCharsets.UTF_8); }
+    }
+
+    static private List<DataNote> rows(String... Rows)
+    {
+        List<DataNote> Notes = new ArrayList<>();
+        for (String Row : Rows) Notes.add(Json.parse(Row));
+        return Notes;
+    }
+
+    static private String copy(List<DataNote> Rows, NexusPostgres.Format Form, NexusPostgres.Empty Blank)
+    throws SQLException
+    {
+        Sink Copy = new Sink();
+        NexusPostgres.copyIn(Copy, Rows.iterator(), Form, 100, Blank);
+        assertTrue(Copy.Ended);
+        return Copy.text();
+    }
+
+    // ResultSet über feste Spalten/Zeilen (nur die von NexusPostgres.rows genutzten Methoden)
+    static private ResultSet result(String[] Labels, int[] Kinds, Object[][] Data, boolean[] Closed)
+    {
+        ResultSetMetaData Meta = (ResultSetMetaData) Proxy.newProxyInstance(
+            NexusPostgresTest.class.getClassLoader(), new Class<?>[] {ResultSetMetaData.class},
+            (Self, Method, Args) -> switch (Method.getName())
+            {
+                case "getColumnCount" -> Labels.length;
+                case "getColumnLabel" -> Labels[(int) Args[0] - 1];
+                case "getColumnType" -> Kinds[(int) Args[0] - 1];
+                default -> throw new UnsupportedOperationException(Method.getName());
+            });
+        int[] Row = {-1};
+        Object[] Last = {null};
+        return (ResultSet) Proxy.newProxyInstance(
+            NexusPostgresTest.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+            (Self, Method, Args) ->
+            {
+                if (Method.getName().startsWith("get") && Args != null && Args.length == 1 && Args[0] instanceof Integer C)
+                    Last[0] = Data[Row[0]][C - 1];
+                return switch (Method.getName())
+                {
+                    case "getMetaData" -> Meta;
+                    case "next" -> ++Row[0] < Data.length;
+                    case "wasNull" -> Last[0] == null;
+                    case "getLong" -> (Last[0] != null) ? ((Number) Last[0]).longValue() : 0L;
+                    case "getDouble" -> (Last[0] != null) ? ((Number) Last[0]).doubleValue() : 0.0;
+                    case "getBoolean" -> Last[0] != null && (Boolean) Last[0];
+                    case "getString" -> (Last[0] != null) ? Last[0].toString() : null;
+                    case "setFetchSize" -> null;
+                    case "close" -> { Closed[0] = true; yield null; }
+                    default -> throw new UnsupportedOperationException(Method.getName());
+                };
+            });
+    }
+
+    @Test
+    void textEscapesAndNulls() throws SQLException
+    {
+        List<DataNote> Rows = rows("[\"tab\\there\", \"cr\\rlf\\n\", \"back\\\\slash\", null, \"\", true, \"a,\\\"b\\\"\"]");
+        assertEquals("tab\\there\tcr\\rlf\\n\tback\\\\slash\t\\N\t\\N\ttrue\ta,\"b\"\n",
+                     copy(Rows, NexusPostgres.Format.TEXT, NexusPostgres.Empty.NULL));
+        assertEquals("tab\\there\tcr\\rlf\\n\tback\\\\slash\t\\N\t\ttrue\ta,\"b\"\n",
+                     copy(Rows, NexusPostgres.Format.TEXT, NexusPostgres.Empty.STRING));
+    }
+
+    @Test
+    void csvQuotesAndNulls() throws SQLException
+    {
+        List<DataNote> Rows = rows("[\"a,b\", \"q\\\"x\", \"line\\nbreak\", null, \"\", \"\\\\.\", \"plain\", [1, {\"k\": \"v\"}]]");
+        assertEquals("\"a,b\",\"q\"\"x\",\"line\nbreak\",,,\"\\.\",plain,\"[1,{\"\"k\"\":\"\"v\"\"}]\"\n",
+                     copy(Rows, NexusPostgres.Format.CSV, NexusPostgres.Empty.NULL));
+        assertEquals("\"a,b\",\"q\"\"x\",\"line\nbreak\",,\"\",\"\\.\",plain,\"[1,{\"\"k\"\":\"\"v\"\"}]\"\n",
+                     copy(Rows, NexusPostgres.Format.CSV, NexusPostgres.Empty.STRING));
+    }
+
+    @Test
+    void exactNumbers() throws SQLException
+    {
+        List<DataNote> Rows = rows("[0x1F, 1E3, 0x1P-1, 9007199254740993, -0b1_0000, 1.5E-7, 12.34E56, -Infinity, NaN]");
+        assertEquals("31\t1000\t0.5\t9007199254740993\t-16\t1.5E-7\t1234" + "0".repeat(54) + "\t-Infinity\tNaN\n",
+                     copy(Rows, NexusPostgres.Format.TEXT, NexusPostgres.Empty.NULL));
+    }
+
+    @Test
+    void tableRowsInKeyOrder() throws SQLException
+    {
+        assertEquals("2,x\n", copy(rows("{\"b\": 2, \"a\": \"x\"}"), NexusPostgres.Format.CSV, NexusPostgres.Empty.NULL));
+    }
+
+    @Test
+    void batchBoundaries() throws SQLException
+    {
+        List<DataNote> Rows = new ArrayList<>();
+        for (int X = 0; X < 5; X++) Rows.add(Json.parse("[" + X + ", \"r" + X + "\"]"));
+        String All = copy(Rows, NexusPostgres.Format.CSV, NexusPostgres.Empty.NULL);
+        for (int Batch : new int[] {1, 2, 5, 6})
+        {
+            Sink Copy = new Sink();
+            assertEquals(5, NexusPostgres.copyIn(Copy, Rows.iterator(), NexusPostgres.Format.CSV, Batch));
+            assertEquals(All, Copy.text());
+            assertEquals((5 + Batch - 1) / Batch, Copy.Writes);
+        }
+        Sink Empty = new Sink();
+        assertEquals(0, NexusPostgres.copyIn(Empty, List.<DataNote>of().iterator(), NexusPostgres.Format.TEXT, 3));
+        assertEquals(0, Empty.Writes);
+        assertTrue(Empty.Ended);
+    }
+
+    @Test
+    void cancelOnError()
+    {
+        Sink Copy = new Sink();
+        Iterator<DataNote> Rows = rows("[1]", "[2]", "[3]", "4", "[5]").iterator();
+        assertThrows(IllegalArgumentException.class,
+                     () -> NexusPostgres.copyIn(Copy, Rows, NexusPostgres.Format.TEXT, 2));
+        assertTrue(Copy.Cancelled);
+        assertFalse(Copy.Ended);
+        assertEquals("1\n2\n", Copy.text());             // nur der erste vollständige Block
+
+        Sink Invalid = new Sink();
+        assertThrows(IllegalArgumentException.class,
+                     () -> NexusPostgres.copyIn(Invalid, rows("[1]").iterator(), NexusPostgres.Format.TEXT, 0));
+        assertTrue(Invalid.Cancelled);
+    }
+
+    @Test
+    void resultSetTyping() throws SQLException
+    {
+        boolean[] Closed = {false};
+        ResultSet Result = result(
+            new String[] {"id", "name", "ok", "score", "amount"},
+            new int[] {Types.BIGINT, Types.VARCHAR, Types.BOOLEAN, Types.DOUBLE, Types.NUMERIC},
+            new Object[][] {{9007199254740993L, "x", true, null, "12.50"}, {2L, null, false, 3.5, "NaN"}},
+            Closed);
+        List<DataNote> Rows;
+        try (Stream<DataNote> Stream = NexusPostgres.rows(Result, 100))
+        { Rows = Stream.toList(); }
+        assertTrue(Closed[0]);
+        assertEquals(2, Rows.size());
+
+        DataNote First = Rows.get(0), Second = Rows.get(1);
+        assertEquals(DataType.Number, First.at(new DataNote("id")).retType());
+        assertEquals("9007199254740993", First.at(new DataNote("id")).asString());
+        assertEquals(new DataNote("x"), First.at(new DataNote("name")));
+        assertEquals(new DataNote(true), First.at(new DataNote("ok")));
+        assertEquals(DataType.Void, First.at(new DataNote("score")).retType());
+        assertEquals(DataType.Number, First.at(new DataNote("amount")).retType());
+        assertEquals("12.50", First.at(new DataNote("amount")).asString());
+        assertEquals(DataType.Void, Second.at(new DataNote("name")).retType());
+        assertEquals(new DataNote(3.5), Second.at(new DataNote("score")));
+        assertEquals(DataType.Number, Second.at(new DataNote("amount")).retType());
+    }
+
+    @Test
+    void duplicateLabelsRejected()
+    {
+        ResultSet Result = result(new String[] {"id", "id"}, new int[] {Types.BIGINT, Types.BIGINT},
+                                  new Object[][] {{1L, 2L}}, new boolean[1]);
+        assertThrows(IllegalArgumentException.class, () -> NexusPostgres.rows(Result));
+    }
+}
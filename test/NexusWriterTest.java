@@ -0,0 +1,61 @@
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import static lingolava.Nexus.*;
+
+/*
+NexusWriter muss dasselbe schreiben wie Processor.present bzw. dieselbe Exception
+erzeugen (z.B. JSON: nur String-Keys)
+*/
+class NexusWriterTest
+{
+    static private final Processor[] Procs = {new JSONProcessor(), new JSONProcessor(true), new JEXISProcessor()};
+
+    static private String written(Processor Proc, DataNote Note, boolean Format) throws IOException
+    {
+        StringBuilder SB = new StringBuilder();
+        NexusWriter.present(Proc, Note, SB, Format);
+        return SB.toString();
+    }
+
+    @Test
+    void sameOutputAsPresent() throws IOException
+    {
+        DataNote Note = new DataNote(Map.of("a", List.of(1, "x", Map.of("b", true)), "c", Map.of()));
+        for (Processor Proc : Procs)
+        {
+            assertEquals(Proc.present(Note, false), written(Proc, Note, false));
+            assertEquals(Proc.present(Note, true), written(Proc, Note, true));
+        }
+    }
+
+    @Test
+    void sameExceptionOnInvalidKeys() throws IOException
+    {
+        List<DataNote> Notes = List.of(
+            new DataNote(Map.of(1, 2)),
+            new DataNote(Map.of("a", Map.of(true, 1))),
+            new DataNote(Map.of(List.of(1), 2)),
+            new DataNote(Map.of(Set.of(1), 2)));
+        for (Processor Proc : Procs)
+            for (DataNote Note : Notes)
+            {
+                String Expected;
+                try { Expected = Proc.present(Note, false); }
+                catch (RuntimeException Exce)
+                {
+                    RuntimeException Written = assertThrows(RuntimeException.class, () -> written(Proc, Note, false));
+                    assertEquals(Exce.getClass(), Written.getClass());
+                    assertEquals(Exce.getMessage(), Written.getMessage());
+                    continue;
+                }
+                assertEquals(Expected, written(Proc, Note, false));
+            }
+    }
+}